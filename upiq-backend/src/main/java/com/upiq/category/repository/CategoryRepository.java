@@ -1,7 +1,11 @@
 package com.upiq.category.repository;
 
+import com.upiq.category.dto.CategoryResponse;
 import com.upiq.category.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,12 +14,31 @@ import java.util.Optional;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
-    List<Category> findByUserId(Long userId);
+    // Listings select the response shape directly instead of loading managed entities
+    String RESPONSE_SELECT = "SELECT new com.upiq.category.dto.CategoryResponse("
+            + "c.id, c.name, c.type, c.description, c.color, c.icon) FROM Category c ";
 
-    List<Category> findByUserIdAndTypeIgnoreCase(Long userId, String type);
+    @Query(RESPONSE_SELECT + "WHERE c.userId = :userId")
+    List<CategoryResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    // Types are stored lower-cased by createCategory
+    @Query(RESPONSE_SELECT + "WHERE c.userId = :userId AND lower(c.type) = lower(:type)")
+    List<CategoryResponse> findResponsesByUserIdAndType(@Param("userId") Long userId, @Param("type") String type);
 
     Optional<Category> findByIdAndUserId(Long id, Long userId);
     
     boolean existsByUserIdAndNameIgnoreCase(Long userId, String name);
+
+    boolean existsByUserIdAndNameIgnoreCaseAndIdNot(Long userId, String name, Long id);
+
+    @Query("SELECT c FROM Category c WHERE c.userId = :userId AND lower(c.name) = lower(:name)")
+    Optional<Category> findByUserIdAndName(@Param("userId") Long userId, @Param("name") String name);
+
+    // Get-or-create without racing a concurrent import: uq_categories_user_name decides the winner
+    @Modifying
+    @Query(value = "INSERT INTO categories (name, type, user_id) VALUES (:name, :type, :userId) "
+            + "ON CONFLICT (user_id, lower(name)) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("name") String name, @Param("type") String type);
 }
 
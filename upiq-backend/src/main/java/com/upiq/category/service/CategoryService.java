@@ -4,6 +4,7 @@ import com.upiq.category.dto.CategoryResponse;
 import com.upiq.category.dto.CreateCategoryRequest;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CategoryService {
 
@@ -18,5 +19,17 @@ public interface CategoryService {
     CategoryResponse updateCategory(Long id, CreateCategoryRequest request, Long userId);
 
     void deleteCategory(Long id, Long userId);
+
+    /** id -> name for every category of the user; used to put names back on transactions. */
+    Map<Long, String> getCategoryNames(Long userId);
+
+    /** Lower-cased name -> id; names without a category are absent. */
+    Map<String, Long> getCategoryIds(Long userId);
+
+    /**
+     * Returns the id of the user's category with this name (ignoring case), creating it
+     * if needed. New categories take their type from the transaction that introduced them.
+     */
+    Long resolveCategoryId(Long userId, String name, String transactionType);
 }
 
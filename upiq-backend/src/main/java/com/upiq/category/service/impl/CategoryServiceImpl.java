@@ -6,19 +6,32 @@ import com.upiq.category.exceptions.CategoryNotFoundException;
 import com.upiq.category.model.Category;
 import com.upiq.category.repository.CategoryRepository;
 import com.upiq.category.service.CategoryService;
+import com.upiq.config.UserDataCache;
+import com.upiq.transaction.repository.TransactionRepository;
+import com.upiq.transaction.repository.UserChangeCounterRepository;
+import com.upiq.transaction.service.TransactionRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
+    // Where a deleted category's transactions go
+    private static final String FALLBACK_CATEGORY = "Uncategorized";
+
     private final CategoryRepository categoryRepository;
+    private final UserDataCache userDataCache;
+    private final TransactionRepository transactionRepository;
+    private final TransactionRollupService rollupService;
+    private final UserChangeCounterRepository changeCounterRepository;
 
     @Override
     public CategoryResponse createCategory(CreateCategoryRequest request, Long userId) {
@@ -27,6 +40,9 @@ public class CategoryServiceImpl implements CategoryService {
                 || (!request.getType().equalsIgnoreCase("income") && !request.getType().equalsIgnoreCase("expense"))) {
             throw new IllegalArgumentException("Category type must be 'income' or 'expense'");
         }
+        if (categoryRepository.existsByUserIdAndNameIgnoreCase(userId, request.getName())) {
+            throw new IllegalArgumentException("Category '" + request.getName() + "' already exists");
+        }
 
         Category category = Category.builder()
                 .name(request.getName())
@@ -37,29 +53,30 @@ public class CategoryServiceImpl implements CategoryService {
                 .userId(userId)
                 .build();
         category = categoryRepository.save(category);
+        userDataCache.invalidate(userId, UserDataCache.Region.CATEGORIES);
         return mapToResponse(category);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories(Long userId) {
-        List<Category> categories = categoryRepository.findByUserId(userId);
-        return categories.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return userDataCache.get(userId, UserDataCache.Region.CATEGORIES, "all",
+                () -> categoryRepository.findResponsesByUserId(userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryResponse> getCategoriesByType(Long userId, String type) {
         if (type == null || (!type.equalsIgnoreCase("income") && !type.equalsIgnoreCase("expense"))) {
             throw new IllegalArgumentException("Category type must be 'income' or 'expense'");
         }
-        List<Category> categories = categoryRepository.findByUserIdAndTypeIgnoreCase(userId, type.toLowerCase());
-        return categories.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        String normalizedType = type.toLowerCase();
+        return userDataCache.get(userId, UserDataCache.Region.CATEGORIES, normalizedType,
+                () -> categoryRepository.findResponsesByUserIdAndType(userId, normalizedType));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id, Long userId) {
         // Fetch category or throw exception if not found
         Category category = categoryRepository.findByIdAndUserId(id, userId)
@@ -68,6 +85,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional
     public CategoryResponse updateCategory(Long id, CreateCategoryRequest request, Long userId) {
         // Validate category type
         if (request.getType() != null
@@ -77,6 +95,10 @@ public class CategoryServiceImpl implements CategoryService {
 
         Category category = categoryRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + id));
+        if (categoryRepository.existsByUserIdAndNameIgnoreCaseAndIdNot(userId, request.getName(), id)) {
+            throw new IllegalArgumentException("Category '" + request.getName() + "' already exists");
+        }
+        // Transactions hold the id, so a rename is this one row
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setColor(request.getColor());
@@ -85,6 +107,10 @@ public class CategoryServiceImpl implements CategoryService {
             category.setType(request.getType().toLowerCase());
         }
         category = categoryRepository.save(category);
+        // Cached transaction listings and summaries carry the category name, and so do
+        // listings clients hold under the ETag
+        changeCounterRepository.bumpCategoryVersion(userId);
+        userDataCache.invalidate(userId);
         return mapToResponse(category);
     }
 
@@ -101,7 +127,55 @@ public class CategoryServiceImpl implements CategoryService {
                     }
                 });
 
+        long inUse = transactionRepository.countByUserIdAndCategoryId(userId, id);
+        if (inUse > 0) {
+            if (category.getName().equalsIgnoreCase(FALLBACK_CATEGORY)) {
+                throw new IllegalArgumentException(
+                        "Category '" + category.getName() + "' still has " + inUse + " transactions");
+            }
+            Long fallbackId = resolveCategoryId(userId, FALLBACK_CATEGORY, category.getType());
+            transactionRepository.reassignCategory(userId, id, fallbackId);
+            rollupService.reassignCategory(userId, id, fallbackId);
+        }
+
         categoryRepository.delete(category);
+        changeCounterRepository.bumpCategoryVersion(userId);
+        userDataCache.invalidate(userId);
+    }
+
+    @Override
+    public Map<Long, String> getCategoryNames(Long userId) {
+        Map<Long, String> names = new HashMap<>();
+        for (CategoryResponse category : getAllCategories(userId)) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
+    }
+
+    @Override
+    public Map<String, Long> getCategoryIds(Long userId) {
+        Map<String, Long> ids = new HashMap<>();
+        for (CategoryResponse category : getAllCategories(userId)) {
+            ids.put(category.getName().toLowerCase(Locale.ROOT), category.getId());
+        }
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public Long resolveCategoryId(Long userId, String name, String transactionType) {
+        String trimmed = name.trim();
+        Long existing = getCategoryIds(userId).get(trimmed.toLowerCase(Locale.ROOT));
+        if (existing != null) {
+            return existing;
+        }
+        String type = transactionType != null && transactionType.equalsIgnoreCase("income") ? "income" : "expense";
+        if (categoryRepository.insertIfAbsent(userId, trimmed, type) > 0) {
+            userDataCache.invalidate(userId, UserDataCache.Region.CATEGORIES);
+        }
+        return categoryRepository.findByUserIdAndName(userId, trimmed)
+                .map(Category::getId)
+                .orElseThrow(() -> new IllegalStateException("Category '" + trimmed + "' could not be created"));
     }
 
     // Helper to convert Entity -> DTO
@@ -1,7 +1,10 @@
 package com.upiq.config;
 
+import com.upiq.pdf.exceptions.ParseJobNotFoundException;
+import com.upiq.pdf.exceptions.ParseQueueFullException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -48,6 +51,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(ParseJobNotFoundException.class)
+    public ResponseEntity<ApiResponse<String>> handleParseJobNotFoundException(ParseJobNotFoundException ex) {
+        log.error("Parse job not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(ParseQueueFullException.class)
+    public ResponseEntity<ApiResponse<String>> handleParseQueueFullException(ParseQueueFullException ex) {
+        log.warn("Parse job rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<String>> handleIllegalArgumentException(IllegalArgumentException ex) {
         log.error("Illegal argument: {}", ex.getMessage());
@@ -0,0 +1,103 @@
+package com.upiq.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Per-user read cache for listings and dashboard aggregates, bounded by entry count and
+ * time-to-live. Writers invalidate the regions they touch; see {@link #invalidate}.
+ */
+@Component
+@Slf4j
+public class UserDataCache {
+
+    public enum Region {
+        TRANSACTIONS,
+        SUMMARY,
+        CATEGORIES
+    }
+
+    // args distinguishes variants within a region, e.g. a category type or a summary range
+    private record Key(Long userId, Region region, Object args) {
+    }
+
+    private final boolean enabled;
+    private final long maxEntries;
+    private final long ttlSeconds;
+    private final Cache<Key, Object> cache;
+
+    public UserDataCache(@Value("${app.cache.user-data.enabled:true}") boolean enabled,
+            @Value("${app.cache.user-data.max-entries:10000}") long maxEntries,
+            @Value("${app.cache.user-data.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached value or loads and caches it. Values are shared between callers,
+     * so loaders should return immutable collections.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, Region region, Object args, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (T) cache.get(new Key(userId, region, args), k -> loader.get());
+    }
+
+    /**
+     * Drops the user's entries in the given regions now and again after the surrounding
+     * database transaction commits. The second pass removes anything a concurrent reader
+     * loaded from the old, still-committed state in between.
+     */
+    public void invalidate(Long userId, Region... regions) {
+        Set<Region> targets = regions.length == 0 ? EnumSet.allOf(Region.class) : EnumSet.of(regions[0], regions);
+        evict(userId, targets);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId, targets);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public UserCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return UserCacheStats.builder()
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRatio(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .entries(cache.estimatedSize())
+                .maxEntries(maxEntries)
+                .ttlSeconds(ttlSeconds)
+                .build();
+    }
+
+    private void evict(Long userId, Set<Region> regions) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(userId) && regions.contains(key.region()));
+    }
+}
@@ -1,13 +1,46 @@
 package com.upiq.pdf.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration class for parser services
  * PDF parsing is handled directly by Apache PDFBox
  */
 @Configuration
+@EnableScheduling
 public class ParserConfig {
-    // Configuration can be added here if needed in the future
-}
 
+    /**
+     * Dedicated pool for CPU-bound parsing work. It is deliberately separate from the
+     * common pool and small by default so parsing never starves Tomcat request threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool parserPool(@Value("${app.parser.parallelism:2}") int parallelism) {
+        return new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    /**
+     * Runs asynchronous parse jobs on virtual threads. The fixed size caps how many
+     * uploads are parsed at once and the bounded queue caps how many wait, each holding
+     * a spooled temp file; once it is full, {@code execute} throws
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService parseJobExecutor(@Value("${app.parser.jobs.max-concurrent:2}") int maxConcurrent,
+                                            @Value("${app.parser.jobs.queue-capacity:16}") int queueCapacity) {
+        int threads = Math.max(1, maxConcurrent);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofVirtual().name("parse-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
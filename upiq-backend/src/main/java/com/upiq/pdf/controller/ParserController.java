@@ -2,15 +2,21 @@ package com.upiq.pdf.controller;
 
 import com.upiq.auth.model.User;
 import com.upiq.config.ApiResponse;
+import com.upiq.pdf.dto.ParseCacheStats;
+import com.upiq.pdf.dto.ParseJobResponse;
 import com.upiq.pdf.dto.ParsingResponse;
+import com.upiq.pdf.service.ParseJobService;
+import com.upiq.pdf.service.ParseResultCache;
 import com.upiq.pdf.service.ParserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
@@ -19,6 +25,8 @@ import org.springframework.web.multipart.MultipartFile;
 public class ParserController {
 
         private final ParserService parserService;
+        private final ParseJobService parseJobService;
+        private final ParseResultCache parseResultCache;
 
         /**
          * Upload and parse a transaction file (PDF or CSV)
@@ -44,6 +52,72 @@ public class ParserController {
                 return ResponseEntity.ok(apiResponse);
         }
 
+        /**
+         * Upload a transaction file and parse it in the background
+         *
+         * @param file The transaction file to parse (PDF or CSV)
+         * @return ApiResponse containing the queued job; poll it or subscribe to its events
+         */
+        @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<ApiResponse<ParseJobResponse>> submitParseJob(
+                        @RequestParam("file") MultipartFile file,
+                        @AuthenticationPrincipal User user) {
+                log.info("Received async parse request from user {}: {} ({} bytes)",
+                                user.getId(), file.getOriginalFilename(), file.getSize());
+
+                ParseJobResponse job = parseJobService.submit(file, user.getId());
+
+                ApiResponse<ParseJobResponse> apiResponse = ApiResponse.<ParseJobResponse>builder()
+                                .success(true)
+                                .data(job)
+                                .message("Parse job queued")
+                                .build();
+
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(apiResponse);
+        }
+
+        /**
+         * Get the status, progress and (once finished) result of a parse job
+         */
+        @GetMapping("/jobs/{jobId}")
+        public ResponseEntity<ApiResponse<ParseJobResponse>> getParseJob(
+                        @PathVariable String jobId,
+                        @AuthenticationPrincipal User user) {
+                ParseJobResponse job = parseJobService.getJob(jobId, user.getId());
+
+                ApiResponse<ParseJobResponse> apiResponse = ApiResponse.<ParseJobResponse>builder()
+                                .success(true)
+                                .data(job)
+                                .message("Parse job retrieved successfully")
+                                .build();
+
+                return ResponseEntity.ok(apiResponse);
+        }
+
+        /**
+         * Server-sent events for a parse job: "progress" events, then a single
+         * "completed" or "failed" event with the final job state
+         */
+        @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter streamParseJob(
+                        @PathVariable String jobId,
+                        @AuthenticationPrincipal User user) {
+                return parseJobService.subscribe(jobId, user.getId());
+        }
+
+        /**
+         * Hit, miss and eviction counters of the parse result cache
+         */
+        @GetMapping("/cache/stats")
+        public ResponseEntity<ApiResponse<ParseCacheStats>> cacheStats() {
+                ApiResponse<ParseCacheStats> response = ApiResponse.<ParseCacheStats>builder()
+                                .success(true)
+                                .data(parseResultCache.stats())
+                                .message("Parse cache statistics retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
         /**
          * Health check endpoint
          */
@@ -0,0 +1,21 @@
+package com.upiq.pdf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParseCacheStats {
+    private long hits;
+    private long diskHits;
+    private long misses;
+    private long evictions;
+    private int entries;
+    private long sizeBytes;
+    private long maxSizeBytes;
+    private boolean diskEnabled;
+}
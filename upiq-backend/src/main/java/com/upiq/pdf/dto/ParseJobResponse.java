@@ -0,0 +1,27 @@
+package com.upiq.pdf.dto;
+
+import com.upiq.pdf.model.ParseJob;
+import com.upiq.pdf.service.ParseProgressListener;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParseJobResponse {
+    private String jobId;
+    private String filename;
+    private ParseJob.Status status;
+    private ParseProgressListener.Unit progressUnit;
+    private long completed;
+    private long total;
+    private ParsingResponse result;
+    private String error;
+    private Instant createdAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,7 @@
+package com.upiq.pdf.exceptions;
+
+public class ParseQueueFullException extends RuntimeException {
+    public ParseQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,67 @@
+package com.upiq.pdf.model;
+
+import com.upiq.pdf.dto.ParsingResponse;
+import com.upiq.pdf.service.ParseProgressListener;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * In-memory state of one asynchronous parse. Written by the job's worker thread and
+ * read by polling/SSE request threads, hence the volatile fields.
+ */
+@Getter
+public class ParseJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final String filename;
+    private final Instant createdAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile ParseProgressListener.Unit progressUnit;
+    private volatile long completed;
+    private volatile long total = -1;
+    private volatile ParsingResponse result;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    public ParseJob(Long userId, String filename) {
+        this.userId = userId;
+        this.filename = filename;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    public void updateProgress(ParseProgressListener.Unit unit, long completed, long total) {
+        this.progressUnit = unit;
+        this.completed = completed;
+        this.total = total;
+    }
+
+    public void complete(ParsingResponse result) {
+        this.result = result;
+        this.finishedAt = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,167 @@
+package com.upiq.pdf.parser;
+
+import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.service.TransactionMappingService;
+import com.upiq.pdf.utils.AmountScanner;
+import com.upiq.pdf.utils.DateLexer;
+import com.upiq.pdf.utils.TransactionKeywords;
+import com.upiq.pdf.utils.TransactionKeywords.KeywordClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tabular bank account statements: one row per line, starting with the transaction
+ * date and ending with the amount column(s) and the running balance, e.g.
+ * <pre>
+ * 01/10/2025 UPI/527412345678/Swiggy/swiggy@ybl 01/10/2025 250.00 12,750.00
+ * 02/10/2025 NEFT-SALARY OCT 50,000.00 62,750.00 Cr
+ * 03/10/2025 ATM WDL 2,000.00 0.00 60,750.00
+ * </pre>
+ * With separate withdrawal/deposit columns the non-zero column gives the direction.
+ * With a single amount column it comes from the movement of the running balance
+ * (a trailing Dr/Cr describes the balance, not the row). Direction keywords in the
+ * narration are the last resort. Wrapped narration lines are appended to the row above.
+ */
+@Component
+@Order(4)
+@RequiredArgsConstructor
+public class BankStatementParser implements StatementParser {
+
+    private static final Pattern ROW_START_PATTERN = Pattern.compile(
+            "^(\\d{1,2}[/-]\\d{1,2}[/-]\\d{2,4}|\\d{1,2}[ -][A-Za-z]{3}[ -]\\d{2,4})\\s+(.*)$");
+    private static final Pattern TRAILING_DATE_PATTERN = Pattern.compile(
+            "\\s+\\d{1,2}[/-](?:\\d{1,2}|[A-Za-z]{3})[/-]\\d{2,4}$");
+    private static final Pattern AMOUNT_TOKEN_PATTERN = Pattern.compile("[\\d,]*\\d\\.\\d{2}");
+    private static final int MAX_NARRATION_LENGTH = 200;
+
+    private final TransactionMappingService mappingService;
+
+    @Override
+    public StatementFormat getFormat() {
+        return StatementFormat.BANK;
+    }
+
+    @Override
+    public boolean detect(String firstPageText) {
+        String head = StatementLines.head(firstPageText);
+        return head.contains("balance")
+                && (head.contains("withdrawal") || head.contains("debit"))
+                && (head.contains("narration") || head.contains("particulars") || head.contains("description")
+                || head.contains("transaction details") || head.contains("remarks"));
+    }
+
+    @Override
+    public StatementParser.Session newSession() {
+        return new Session();
+    }
+
+    private final class Session extends LineSession {
+
+        private final DateLexer.FormatHint dateHint = new DateLexer.FormatHint();
+        private long previousBalance = AmountScanner.NO_AMOUNT;
+
+        @Override
+        protected void acceptLine(String line) {
+            if (line.regionMatches(true, 0, "opening balance", 0, 15)) {
+                Row opening = Row.parse(line);
+                if (opening.count > 0) {
+                    previousBalance = opening.amounts[opening.count - 1];
+                }
+                return;
+            }
+
+            Matcher m = ROW_START_PATTERN.matcher(line);
+            if (m.matches()) {
+                Row row = Row.parse(m.group(2));
+                if (row.count >= 2) {
+                    startRow(toTransaction(m.group(1), row));
+                    return;
+                }
+            }
+
+            // Wrapped narration of the row above.
+            if (pending != null && pending.getDescription().length() < MAX_NARRATION_LENGTH
+                    && !KeywordClass.IGNORED_LINE.in(TransactionKeywords.scan(line))) {
+                pending.setDescription(pending.getDescription() + " " + line);
+            }
+        }
+
+        @Override
+        protected void flush() {
+            if (pending != null) {
+                pending.setPaymentMethod(mappingService.extractPaymentMethod(pending.getDescription()));
+            }
+            super.flush();
+        }
+
+        private TransactionRequest toTransaction(String dateText, Row row) {
+            long balance = row.amounts[row.count - 1];
+            long amount;
+            Boolean credit;
+            if (row.count >= 3) {
+                // ... withdrawal deposit balance
+                long withdrawal = row.amounts[row.count - 3];
+                long deposit = row.amounts[row.count - 2];
+                amount = withdrawal > 0 ? withdrawal : deposit;
+                credit = (withdrawal > 0) == (deposit > 0) ? null : deposit > 0;
+            } else {
+                amount = row.amounts[0];
+                credit = previousBalance == AmountScanner.NO_AMOUNT || balance == previousBalance
+                        ? null : balance > previousBalance;
+            }
+
+            String narration = TRAILING_DATE_PATTERN.matcher(row.narration).replaceFirst("");
+            if (credit == null) {
+                long keywords = TransactionKeywords.scan(narration);
+                boolean creditHint = KeywordClass.TYPE_CREDIT.in(keywords) || KeywordClass.STATEMENT_CREDIT.in(keywords);
+                boolean debitHint = KeywordClass.TYPE_DEBIT.in(keywords) || KeywordClass.STATEMENT_DEBIT.in(keywords);
+                credit = creditHint == debitHint ? null : creditHint;
+            }
+            previousBalance = balance;
+
+            return TransactionRequest.builder()
+                    .date(DateLexer.parse(dateText, dateHint))
+                    .description(narration.isEmpty() ? "Transaction" : narration)
+                    .type(credit == null ? null : credit ? "income" : "expense")
+                    .amount(StatementLines.rupees(amount))
+                    .build();
+        }
+    }
+
+    /** Narration plus up to three trailing amount columns, ignoring a final Dr/Cr. */
+    private static final class Row {
+
+        final long[] amounts = new long[3];
+        int count;
+        String narration;
+
+        static Row parse(String text) {
+            Row row = new Row();
+            String[] tokens = text.split(" ");
+            int end = tokens.length;
+            if (end > 0 && (tokens[end - 1].equalsIgnoreCase("cr") || tokens[end - 1].equalsIgnoreCase("dr"))) {
+                end--;
+            }
+            long[] reversed = new long[3];
+            while (end > 0 && row.count < 3) {
+                String token = tokens[end - 1];
+                if (AMOUNT_TOKEN_PATTERN.matcher(token).matches()) {
+                    reversed[row.count++] = AmountScanner.scanPaise(token);
+                } else {
+                    break;
+                }
+                end--;
+            }
+            for (int i = 0; i < row.count; i++) {
+                row.amounts[i] = reversed[row.count - 1 - i];
+            }
+            row.narration = String.join(" ", Arrays.copyOfRange(tokens, 0, end)).trim();
+            return row;
+        }
+    }
+}
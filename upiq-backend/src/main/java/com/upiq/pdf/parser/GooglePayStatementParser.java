@@ -0,0 +1,68 @@
+package com.upiq.pdf.parser;
+
+import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.utils.DateLexer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Google Pay "Transaction statement" exports. Direction comes from the verb, the
+ * amount is unsigned:
+ * <pre>
+ * 01 Oct, 2025 Paid to Swiggy ₹250
+ * 10:32 AM UPI Transaction ID: 527412345678
+ * Paid by HDFC Bank 1234
+ * </pre>
+ */
+@Component
+@Order(2)
+public class GooglePayStatementParser implements StatementParser {
+
+    private static final Pattern ROW_PATTERN = Pattern.compile(
+            "^(\\d{1,2} [A-Za-z]{3,9},? \\d{4}) (Paid to|Sent to|Received from|Self transfer to|Self transfer from) "
+                    + "(.+?) (₹ ?[\\d,]+(?:\\.\\d{1,2})?)$",
+            Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public StatementFormat getFormat() {
+        return StatementFormat.GOOGLE_PAY;
+    }
+
+    @Override
+    public boolean detect(String firstPageText) {
+        String head = StatementLines.head(firstPageText);
+        return (head.contains("google pay") || head.contains("gpay")) && head.contains("transaction statement");
+    }
+
+    @Override
+    public StatementParser.Session newSession() {
+        return new Session();
+    }
+
+    private static final class Session extends LineSession {
+
+        private final DateLexer.FormatHint dateHint = new DateLexer.FormatHint();
+
+        @Override
+        protected void acceptLine(String line) {
+            Matcher m = ROW_PATTERN.matcher(line);
+            if (m.matches()) {
+                String verb = m.group(2);
+                boolean credit = verb.regionMatches(true, 0, "Received", 0, 8)
+                        || verb.equalsIgnoreCase("Self transfer from");
+                startRow(TransactionRequest.builder()
+                        .date(DateLexer.parse(m.group(1), dateHint))
+                        .description(verb + " " + StatementLines.cleanName(m.group(3)))
+                        .type(credit ? "income" : "expense")
+                        .amount(StatementLines.amount(m.group(4)))
+                        .paymentMethod("UPI")
+                        .build());
+            } else if (pending != null && StatementLines.startsWithTime(line)) {
+                pending.setDate(StatementLines.withTime(pending.getDate(), line));
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.upiq.pdf.parser;
+
+import com.upiq.pdf.dto.TransactionRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Base session that splits page text into normalized, non-empty lines.
+ */
+@Slf4j
+abstract class LineSession implements StatementParser.Session {
+
+    private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("\\r?\\n");
+
+    protected final List<TransactionRequest> transactions = new ArrayList<>();
+    /** Row still collecting continuation lines (time, references, wrapped text). */
+    protected TransactionRequest pending;
+    private boolean hasText;
+
+    @Override
+    public void accept(String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String rawLine : LINE_BREAK_PATTERN.split(text)) {
+            String line = StatementLines.normalize(rawLine);
+            if (!line.isEmpty()) {
+                hasText = true;
+                acceptLine(line);
+            }
+        }
+    }
+
+    protected abstract void acceptLine(String line);
+
+    /** Emits the pending row; called on every new row and once at the end of the document. */
+    protected void flush() {
+        if (pending != null) {
+            add(pending);
+            pending = null;
+        }
+    }
+
+    protected void startRow(TransactionRequest tx) {
+        flush();
+        pending = tx;
+    }
+
+    @Override
+    public boolean hasText() {
+        return hasText;
+    }
+
+    @Override
+    public List<TransactionRequest> finish() {
+        flush();
+        return transactions;
+    }
+
+    protected void add(TransactionRequest tx) {
+        if (tx.getAmount() != null && tx.getDate() != null && tx.getType() != null) {
+            transactions.add(tx);
+        } else {
+            log.debug("Dropping incomplete row: Amount={}, Desc='{}'", tx.getAmount(), tx.getDescription());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.upiq.pdf.parser;
+
+import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.utils.DateLexer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Paytm UPI statements. A row starts with a day and month (the year usually only
+ * appears in the statement period, which may span a new year) and wraps over
+ * several lines; the amount is signed, {@code - Rs.250} for money out and
+ * {@code + Rs.500} for money in:
+ * <pre>
+ * 1 Oct 10:32 AM Paid to Swiggy
+ * UPI ID: swiggy@ybl on
+ * UPI Ref No: 527412345678 - Rs.250
+ * </pre>
+ */
+@Component
+@Order(3)
+public class PaytmStatementParser implements StatementParser {
+
+    private static final Pattern ROW_START_PATTERN = Pattern.compile(
+            "^(\\d{1,2}) ([A-Za-z]{3,9})(?:'(\\d{2})| (\\d{4}))?\\b");
+    private static final Pattern SIGNED_AMOUNT_PATTERN = Pattern.compile(
+            "([+-]) ?((?:Rs\\.?|₹|INR) ?[\\d,]+(?:\\.\\d{1,2})?)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COUNTERPARTY_PATTERN = Pattern.compile(
+            "(Paid to|Money sent to|Sent to|Received from|Money received from|Added to|Refund from|Cashback from) "
+                    + "(.+?)(?= UPI| Ref| Order| Tag| Note| #| [+-] ?(?:Rs|₹|INR)|$)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern PERIOD_SEPARATOR_PATTERN = Pattern.compile(" (?:-|–|to) ", Pattern.CASE_INSENSITIVE);
+    private static final int MAX_ROW_LINES = 6;
+    // A yearless row further than this from the previous one crossed a year boundary
+    private static final int YEAR_ROLLOVER_MONTHS = 6;
+
+    @Override
+    public StatementFormat getFormat() {
+        return StatementFormat.PAYTM;
+    }
+
+    @Override
+    public boolean detect(String firstPageText) {
+        String head = StatementLines.head(firstPageText);
+        return head.contains("paytm") && (head.contains("statement") || head.contains("passbook"));
+    }
+
+    @Override
+    public StatementParser.Session newSession() {
+        return new Session();
+    }
+
+    private static final class Session extends LineSession {
+
+        private final DateLexer.FormatHint dateHint = new DateLexer.FormatHint();
+        private final List<String> rowLines = new ArrayList<>();
+        private LocalDateTime rowDate;
+        private LocalDateTime periodEnd;
+        private LocalDateTime anchor;
+
+        @Override
+        protected void acceptLine(String line) {
+            if (rowDate == null && periodEnd == null && readPeriod(line)) {
+                return;
+            }
+            Matcher m = ROW_START_PATTERN.matcher(line);
+            if (m.lookingAt()) {
+                LocalDateTime date = rowDate(m);
+                if (date != null) {
+                    emitRow();
+                    rowDate = date;
+                    rowLines.add(line.substring(m.end()).trim());
+                    return;
+                }
+            }
+            if (rowDate != null && rowLines.size() < MAX_ROW_LINES) {
+                rowLines.add(line);
+            } else if (rowDate == null && anchor == null) {
+                // Header area: any dated line (e.g. the generation date) anchors the year
+                anchor = DateLexer.find(line, dateHint);
+            }
+        }
+
+        /** Reads a "01 Dec 2024 - 31 Jan 2025" period line; rows then take the year that fits in it. */
+        private boolean readPeriod(String line) {
+            String[] halves = PERIOD_SEPARATOR_PATTERN.split(line, 2);
+            if (halves.length < 2) {
+                return false;
+            }
+            LocalDateTime start = DateLexer.find(halves[0], dateHint);
+            LocalDateTime end = start != null ? DateLexer.find(halves[1], dateHint) : null;
+            if (end == null || end.isBefore(start)) {
+                return false;
+            }
+            periodEnd = end;
+            anchor = end;
+            return true;
+        }
+
+        @Override
+        protected void flush() {
+            emitRow();
+            super.flush();
+        }
+
+        /**
+         * Works the year out per row, so a statement spanning December and January
+         * dates each side correctly: an explicit year wins, then the year that puts the
+         * row inside the statement period, then the year closest to the previous row
+         * (which handles both oldest-first and newest-first ordering).
+         */
+        private LocalDateTime rowDate(Matcher m) {
+            String dayMonth = m.group(1) + " " + m.group(2) + " ";
+            LocalDateTime date;
+            if (m.group(3) != null || m.group(4) != null) {
+                int year = m.group(3) != null ? 2000 + Integer.parseInt(m.group(3)) : Integer.parseInt(m.group(4));
+                date = DateLexer.parse(dayMonth + year, dateHint);
+            } else if (periodEnd != null) {
+                date = DateLexer.parse(dayMonth + periodEnd.getYear(), dateHint);
+                if (date != null && date.isAfter(periodEnd)) {
+                    date = date.minusYears(1);
+                }
+            } else if (anchor != null) {
+                date = DateLexer.parse(dayMonth + anchor.getYear(), dateHint);
+                if (date != null && date.isAfter(anchor.plusMonths(YEAR_ROLLOVER_MONTHS))) {
+                    date = date.minusYears(1);
+                } else if (date != null && date.isBefore(anchor.minusMonths(YEAR_ROLLOVER_MONTHS))) {
+                    date = date.plusYears(1);
+                }
+            } else {
+                return null;
+            }
+            if (date != null) {
+                anchor = date;
+            }
+            return date;
+        }
+
+        private void emitRow() {
+            if (rowDate == null) {
+                return;
+            }
+            String row = String.join(" ", rowLines);
+            Matcher amount = SIGNED_AMOUNT_PATTERN.matcher(row);
+            if (amount.find()) {
+                Matcher counterparty = COUNTERPARTY_PATTERN.matcher(row);
+                String description = counterparty.find()
+                        ? counterparty.group(1) + " " + StatementLines.cleanName(counterparty.group(2))
+                        : "Transaction";
+                add(TransactionRequest.builder()
+                        .date(StatementLines.withTime(rowDate, row))
+                        .description(description)
+                        .type(amount.group(1).equals("+") ? "income" : "expense")
+                        .amount(StatementLines.amount(amount.group(2)))
+                        .paymentMethod("UPI")
+                        .build());
+            }
+            rowLines.clear();
+            rowDate = null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.upiq.pdf.parser;
+
+import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.utils.DateLexer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PhonePe "Transaction Statement" exports. Each row is one line:
+ * <pre>
+ * Oct 01, 2025 Paid to Swiggy Limited DEBIT ₹250
+ * 07:45 pm Transaction ID T2510011945...
+ * UTR No. 527412345678
+ * Debited from XXXXXXXX1234
+ * </pre>
+ * The time line is applied to the row; every other continuation line is ignored.
+ */
+@Component
+@Order(1)
+public class PhonePeStatementParser implements StatementParser {
+
+    private static final Pattern ROW_PATTERN = Pattern.compile(
+            "^([A-Za-z]{3,9} \\d{1,2}, ?\\d{4}) (.+?) (DEBIT|CREDIT) ((?:₹|Rs\\.?|INR) ?[\\d,]+(?:\\.\\d{1,2})?)$",
+            Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public StatementFormat getFormat() {
+        return StatementFormat.PHONEPE;
+    }
+
+    @Override
+    public boolean detect(String firstPageText) {
+        String head = StatementLines.head(firstPageText);
+        return head.contains("phonepe") && head.contains("transaction statement");
+    }
+
+    @Override
+    public StatementParser.Session newSession() {
+        return new Session();
+    }
+
+    private static final class Session extends LineSession {
+
+        private final DateLexer.FormatHint dateHint = new DateLexer.FormatHint();
+
+        @Override
+        protected void acceptLine(String line) {
+            Matcher m = ROW_PATTERN.matcher(line);
+            if (m.matches()) {
+                boolean credit = "CREDIT".equalsIgnoreCase(m.group(3));
+                startRow(TransactionRequest.builder()
+                        .date(DateLexer.parse(m.group(1), dateHint))
+                        .description(StatementLines.cleanName(m.group(2)))
+                        .type(credit ? "income" : "expense")
+                        .amount(StatementLines.amount(m.group(4)))
+                        .paymentMethod("UPI")
+                        .build());
+            } else if (pending != null && StatementLines.startsWithTime(line)) {
+                pending.setDate(StatementLines.withTime(pending.getDate(), line));
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.upiq.pdf.parser;
+
+public enum StatementFormat {
+    PHONEPE,
+    GOOGLE_PAY,
+    PAYTM,
+    BANK,
+    GENERIC
+}
@@ -0,0 +1,74 @@
+package com.upiq.pdf.parser;
+
+import com.upiq.pdf.utils.AmountScanner;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Line-level helpers shared by the specialised statement parsers.
+ */
+final class StatementLines {
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("[\\u00A0\\s]+");
+    private static final Pattern TIME_PATTERN = Pattern.compile("\\b(\\d{1,2}):(\\d{2})\\s?([AaPp][Mm])\\b");
+    private static final long MAX_AMOUNT_PAISE = 1_000_000_00L; // same cap as the generic parser
+    private static final int DETECT_WINDOW = 4096;
+
+    private StatementLines() {
+    }
+
+    static String normalize(String rawLine) {
+        return WHITESPACE_PATTERN.matcher(rawLine).replaceAll(" ").trim();
+    }
+
+    /** Lower-cased start of the first page; detectors only look at the header area. */
+    static String head(String firstPageText) {
+        if (firstPageText == null) {
+            return "";
+        }
+        String head = firstPageText.length() > DETECT_WINDOW
+                ? firstPageText.substring(0, DETECT_WINDOW) : firstPageText;
+        return head.toLowerCase(Locale.ROOT);
+    }
+
+    /** @return the amount in rupees, or {@code null} if it is missing or out of range */
+    static Double amount(String text) {
+        return rupees(AmountScanner.scanPaise(text));
+    }
+
+    static Double rupees(long paise) {
+        return paise > 0 && paise < MAX_AMOUNT_PAISE ? AmountScanner.toRupees(paise) : null;
+    }
+
+    /** Applies the first {@code hh:mm am/pm} in {@code line} to {@code date}, if both exist. */
+    static LocalDateTime withTime(LocalDateTime date, String line) {
+        if (date == null) {
+            return null;
+        }
+        Matcher m = TIME_PATTERN.matcher(line);
+        if (!m.find()) {
+            return date;
+        }
+        int hour = Integer.parseInt(m.group(1));
+        int minute = Integer.parseInt(m.group(2));
+        if (hour < 1 || hour > 12 || minute > 59) {
+            return date;
+        }
+        boolean pm = Character.toLowerCase(m.group(3).charAt(0)) == 'p';
+        return date.withHour(hour % 12 + (pm ? 12 : 0)).withMinute(minute);
+    }
+
+    static boolean startsWithTime(String line) {
+        return TIME_PATTERN.matcher(line).lookingAt();
+    }
+
+    /** Counterparty name as printed, without trailing reference numbers or handles. */
+    static String cleanName(String name) {
+        return name.replaceAll("(?i)\\s+(?:upi|ref|utr|id)\\b.*$", "")
+                .replaceAll("\\s+\\d{6,}.*$", "")
+                .trim();
+    }
+}
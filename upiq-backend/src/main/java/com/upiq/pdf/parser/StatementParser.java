@@ -0,0 +1,33 @@
+package com.upiq.pdf.parser;
+
+import com.upiq.pdf.dto.TransactionRequest;
+
+import java.util.List;
+
+/**
+ * A parser for one known statement layout.
+ *
+ * {@link #detect(String)} is called once per document with the first page's text and
+ * must be cheap; the first parser (in {@code @Order}) that claims the document gets
+ * it. Anything unclaimed goes to the generic block segmenter in
+ * {@link com.upiq.pdf.service.AIPDFParserService}.
+ */
+public interface StatementParser {
+
+    StatementFormat getFormat();
+
+    boolean detect(String firstPageText);
+
+    /** Starts parsing a new document. Sessions are single-threaded and not reused. */
+    Session newSession();
+
+    interface Session {
+
+        /** Pushes the text of the next page (or the whole document) in page order. */
+        void accept(String text);
+
+        boolean hasText();
+
+        List<TransactionRequest> finish();
+    }
+}
@@ -2,31 +2,46 @@ package com.upiq.pdf.service;
 
 import com.upiq.pdf.dto.TransactionRequest;
 import com.upiq.pdf.exceptions.ParsingException;
+import com.upiq.pdf.parser.StatementParser;
+import com.upiq.pdf.utils.AmountScanner;
+import com.upiq.pdf.utils.DateLexer;
 import com.upiq.pdf.utils.ParsingUtils;
+import com.upiq.pdf.utils.TransactionKeywords;
+import com.upiq.pdf.utils.TransactionKeywords.KeywordClass;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
+import org.apache.pdfbox.io.ScratchFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.time.LocalDate;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class AIPDFParserService {
 
     private static final Pattern CURRENCY_PATTERN = Pattern.compile("(?:₹|rs\\.?|inr)\\s*([\\d,]+(?:\\.\\d{1,2})?)",
             Pattern.CASE_INSENSITIVE);
+    private static final long MAX_AMOUNT_PAISE = 1_000_000_00L; // amounts must stay below 10 lakh
+
     private static final Pattern DATE_PATTERN = Pattern.compile(
             // Matches: dd/mm/yyyy, dd-mm-yyyy, dd.mm.yyyy, yyyy-mm-dd (with optional
             // spaces)
@@ -45,32 +60,199 @@ public class AIPDFParserService {
             "(?i)(?:paid to|payment to|credited to|credit to)\\s+" +
                     "(?:mybankname|bank\\s+of\\s+\\w+|state\\s+bank|hdfc|icici|axis|sbi|pnb|kotak|yes\\s+bank|idfc|hsbc|citibank|union\\s+bank|canara\\s+bank|central\\s+bank|indusind|rbl|federal\\s+bank|(?:[\\w']+\\s+){0,2}bank\\b)");
 
-    private static final Set<String> IGNORE_PATTERNS = Set.of("opening balance", "closing balance", "date & time",
-            "page", "statement");
+    // Counterparty extraction for extractDescription, compiled once instead of per block.
+    private static final Pattern PAID_TO_NAME_PATTERN = Pattern.compile(
+            "(?:paid to|sent to|transfer to|payment to|pay to)\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s+(?:upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern PAID_BY_NAME_PATTERN = Pattern.compile(
+            "paid\\s+by\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s*-|\\s+(?:paid|to|upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern RECEIVED_FROM_NAME_PATTERN = Pattern.compile(
+            "(?:received from|credited from|credit from)\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s*-|\\s+(?:upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("[\\u00A0\\s]+");
+    private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("\\r?\\n");
 
-    // Helper to create robust case-insensitive English formatters
-    private static DateTimeFormatter createFormatter(String pattern) {
-        return new DateTimeFormatterBuilder()
-                .parseCaseInsensitive()
-                .appendPattern(pattern)
-                .toFormatter(Locale.ENGLISH);
-    }
+    // Scratch-file backed stream cache: parsed COS streams are paged out to a temp
+    // file instead of being held on the heap.
+    private static final StreamCacheCreateFunction SCRATCH_FILE_CACHE =
+            () -> new ScratchFile(MemoryUsageSetting.setupTempFileOnly());
 
-    // Standard formatters
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-            createFormatter("d/M/yyyy"), createFormatter("d-M-yyyy"), createFormatter("d.M.yyyy"),
-            createFormatter("d/M/yy"), createFormatter("d-M-yy"), createFormatter("d.M.yy"),
-            createFormatter("yyyy-MM-dd"),
-            createFormatter("d MMM yyyy"), createFormatter("d MMM yy"),
-            createFormatter("d MMM, yyyy"), createFormatter("d MMM, yy"),
-            createFormatter("dd MMM yyyy"), createFormatter("dd MMM, yyyy"));
+    private final ForkJoinPool parserPool;
+    private final List<StatementParser> statementParsers;
+
+    @Value("${app.parser.pdf.format-detection:true}")
+    private boolean formatDetectionEnabled;
+
+    @Value("${app.parser.pdf.streaming:true}")
+    private boolean streamingEnabled;
+
+    @Value("${app.parser.pdf.parallel:false}")
+    private boolean parallelEnabled;
+
+    @Value("${app.parser.pdf.parallel-min-pages:8}")
+    private int parallelMinPages;
 
     public List<TransactionRequest> parsePDF(MultipartFile file) {
+        return parsePDF(file, ParseProgressListener.NONE);
+    }
+
+    public List<TransactionRequest> parsePDF(MultipartFile file, ParseProgressListener listener) {
         log.info("Starting PDF parsing for file: {}", file.getOriginalFilename());
+        return streamingEnabled ? parseStreaming(file, listener) : parseInMemory(file, listener);
+    }
+
+    /**
+     * Spools the upload to disk and extracts text one page at a time, feeding each
+     * page straight into the block segmenter so heap usage does not grow with the
+     * page count.
+     */
+    private List<TransactionRequest> parseStreaming(MultipartFile file, ParseProgressListener listener) {
+        Path spooled = null;
+        try {
+            spooled = ParsingUtils.spoolToTempFile(file, ".pdf");
+            try (PDDocument document = openSpooled(spooled)) {
+
+                int pageCount = document.getNumberOfPages();
+                StatementParser.Session session = null;
+
+                if (parallelEnabled && pageCount >= Math.max(1, parallelMinPages) && parserPool.getParallelism() > 1) {
+                    // Pages are extracted out of order but segmented strictly in page order,
+                    // so block boundaries and the sticky date still carry across pages.
+                    String[] pages = extractPagesInParallel(spooled, pageCount, listener);
+                    session = openSession(pages[0], replay -> {
+                        for (String pageText : pages) {
+                            replay.accept(pageText);
+                        }
+                    });
+                    for (String pageText : pages) {
+                        session.accept(pageText);
+                    }
+                } else {
+                    PDFTextStripper stripper = new PDFTextStripper();
+                    for (int page = 1; page <= pageCount; page++) {
+                        stripper.setStartPage(page);
+                        stripper.setEndPage(page);
+                        String pageText = stripper.getText(document);
+                        if (session == null) {
+                            // A fallback re-extracts from the spooled document rather than
+                            // keeping every page's text on the heap
+                            session = openSession(pageText, replay -> replayPages(document, replay));
+                        }
+                        session.accept(pageText);
+                        listener.onProgress(ParseProgressListener.Unit.PAGES, page, pageCount);
+                    }
+                }
+
+                if (session == null || !session.hasText()) {
+                    log.warn("PDF extracted text is empty");
+                    throw new ParsingException("Empty PDF");
+                }
+                log.debug("Extracted {} pages in streaming mode", pageCount);
+                return session.finish();
+            }
+        } catch (IOException e) {
+            log.error("Error reading PDF", e);
+            throw new ParsingException("Error reading PDF: " + e.getMessage(), e);
+        } finally {
+            ParsingUtils.deleteQuietly(spooled);
+        }
+    }
+
+    private static void replayPages(PDDocument document, StatementParser.Session session) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        int pageCount = document.getNumberOfPages();
+        for (int page = 1; page <= pageCount; page++) {
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            session.accept(stripper.getText(document));
+        }
+    }
+
+    private static PDDocument openSpooled(Path spooled) throws IOException {
+        return Loader.loadPDF(new RandomAccessReadBufferedFile(spooled.toFile()), "", null, null,
+                SCRATCH_FILE_CACHE);
+    }
+
+    /**
+     * Extracts every page on the parser pool. PDDocument is not thread-safe, so each
+     * worker opens its own handle on the spooled file and owns a contiguous page range.
+     */
+    private String[] extractPagesInParallel(Path spooled, int pageCount, ParseProgressListener listener)
+            throws IOException {
+        int workers = Math.min(parserPool.getParallelism(), pageCount);
+        int pagesPerWorker = (pageCount + workers - 1) / workers;
+        String[] pages = new String[pageCount];
+        PageProgress progress = new PageProgress(listener, pageCount);
+        try {
+            parserPool.invoke(new PageRangeTask(spooled, 1, pageCount, pagesPerWorker, pages, progress));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.debug("Extracted {} pages on {} workers", pageCount, workers);
+        return pages;
+    }
+
+    private record PageProgress(ParseProgressListener listener, int pageCount, AtomicInteger done) {
+
+        PageProgress(ParseProgressListener listener, int pageCount) {
+            this(listener, pageCount, new AtomicInteger());
+        }
+
+        void pageDone() {
+            listener.onProgress(ParseProgressListener.Unit.PAGES, done.incrementAndGet(), pageCount);
+        }
+    }
+
+    private static final class PageRangeTask extends RecursiveAction {
+
+        private final Path spooled;
+        private final int startPage;
+        private final int endPage;
+        private final int pagesPerWorker;
+        private final String[] pages;
+        private final PageProgress progress;
+
+        PageRangeTask(Path spooled, int startPage, int endPage, int pagesPerWorker, String[] pages,
+                      PageProgress progress) {
+            this.spooled = spooled;
+            this.startPage = startPage;
+            this.endPage = endPage;
+            this.pagesPerWorker = pagesPerWorker;
+            this.pages = pages;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (endPage - startPage + 1 > pagesPerWorker) {
+                int mid = startPage + (endPage - startPage) / 2;
+                invokeAll(new PageRangeTask(spooled, startPage, mid, pagesPerWorker, pages, progress),
+                        new PageRangeTask(spooled, mid + 1, endPage, pagesPerWorker, pages, progress));
+                return;
+            }
+            try (PDDocument document = openSpooled(spooled)) {
+                PDFTextStripper stripper = new PDFTextStripper();
+                for (int page = startPage; page <= endPage; page++) {
+                    stripper.setStartPage(page);
+                    stripper.setEndPage(page);
+                    pages[page - 1] = stripper.getText(document);
+                    progress.pageDone();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private List<TransactionRequest> parseInMemory(MultipartFile file, ParseProgressListener listener) {
         try (InputStream inputStream = file.getInputStream();
                 PDDocument document = Loader.loadPDF(inputStream.readAllBytes())) {
 
             String text = new PDFTextStripper().getText(document);
+            int pageCount = document.getNumberOfPages();
+            listener.onProgress(ParseProgressListener.Unit.PAGES, pageCount, pageCount);
             if (text == null || text.trim().isEmpty()) {
                 log.warn("PDF extracted text is empty");
                 throw new ParsingException("Empty PDF");
@@ -83,48 +265,151 @@ public class AIPDFParserService {
         }
     }
 
-    private List<TransactionRequest> parseTransactions(String text) {
-        // Pre-process: Normalize spaces to ensure regex matching works reliably
-        List<String> lines = Arrays.stream(text.split("\\r?\\n"))
-                .map(line -> line.replaceAll("[\\u00A0\\s]+", " ").trim())
-                .filter(line -> !line.isEmpty() && !IGNORE_PATTERNS.stream().anyMatch(line.toLowerCase()::contains))
-                .collect(Collectors.toList());
+    List<TransactionRequest> parseTransactions(String text) {
+        StatementParser.Session session = openSession(text, replay -> replay.accept(text));
+        session.accept(text);
+        return session.finish();
+    }
+
+    /**
+     * Picks the parser for a document from its first page: the first specialised
+     * parser that recognises the layout, otherwise the generic block segmenter.
+     * {@code source} re-feeds the whole document if the specialised parser comes up empty.
+     */
+    private StatementParser.Session openSession(String firstPageText, PageSource source) {
+        if (formatDetectionEnabled) {
+            for (StatementParser parser : statementParsers) {
+                if (parser.detect(firstPageText)) {
+                    log.info("Detected {} statement layout", parser.getFormat());
+                    return new FallbackSession(parser, parser.newSession(), source);
+                }
+            }
+        }
+        return new BlockSegmenter();
+    }
+
+    /** Feeds a document's text, in page order, into a session. */
+    @FunctionalInterface
+    private interface PageSource {
+        void replay(StatementParser.Session session) throws IOException;
+    }
+
+    /**
+     * Runs a specialised parser and, if the layout turns out not to match, replays
+     * the document from its {@link PageSource} through the generic segmenter.
+     */
+    private class FallbackSession implements StatementParser.Session {
+
+        private final StatementParser parser;
+        private final StatementParser.Session primary;
+        private final PageSource source;
 
-        log.info("Processing {} lines after filtering", lines.size());
+        FallbackSession(StatementParser parser, StatementParser.Session primary, PageSource source) {
+            this.parser = parser;
+            this.primary = primary;
+            this.source = source;
+        }
+
+        @Override
+        public void accept(String text) {
+            primary.accept(text);
+        }
+
+        @Override
+        public boolean hasText() {
+            return primary.hasText();
+        }
+
+        @Override
+        public List<TransactionRequest> finish() {
+            List<TransactionRequest> transactions = primary.finish();
+            if (!transactions.isEmpty()) {
+                log.info("Parsed {} transactions with the {} parser", transactions.size(), parser.getFormat());
+                return transactions;
+            }
+            log.info("{} parser found no transactions, falling back to the generic parser", parser.getFormat());
+            BlockSegmenter generic = new BlockSegmenter();
+            try {
+                source.replay(generic);
+            } catch (IOException e) {
+                throw new ParsingException("Error re-reading PDF: " + e.getMessage(), e);
+            }
+            return generic.finish();
+        }
+    }
 
-        List<TransactionRequest> transactions = new ArrayList<>();
-        List<String> currentBlock = new ArrayList<>();
-        LocalDateTime lastSeenDate = null;
+    /**
+     * Incremental block segmenter. Text can be pushed in arbitrary chunks (e.g. one
+     * page at a time); block boundaries and the "sticky date" carry over between
+     * chunks exactly as if the whole document had been pushed at once.
+     */
+    private class BlockSegmenter implements StatementParser.Session {
+
+        private final List<TransactionRequest> transactions = new ArrayList<>();
+        private final List<String> currentBlock = new ArrayList<>();
+        private final DateLexer.FormatHint dateHint = new DateLexer.FormatHint();
+        private LocalDateTime lastSeenDate;
+        private int lineCount;
+        private boolean hasText;
+
+        @Override
+        public void accept(String text) {
+            if (text == null || text.isEmpty()) {
+                return;
+            }
+            for (String rawLine : LINE_BREAK_PATTERN.split(text)) {
+                // Pre-process: Normalize spaces to ensure regex matching works reliably
+                String line = WHITESPACE_PATTERN.matcher(rawLine).replaceAll(" ").trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                hasText = true;
+                long keywords = TransactionKeywords.scan(line);
+                if (KeywordClass.IGNORED_LINE.in(keywords)) {
+                    continue;
+                }
+                lineCount++;
+                acceptLine(line, keywords);
+            }
+        }
 
-        for (String line : lines) {
+        private void acceptLine(String line, long keywords) {
             // "Sticky Date" logic: if a line is a date, remember it for subsequent blocks
-            LocalDateTime foundDate = extractDate(line);
+            LocalDateTime foundDate = extractDate(line, dateHint);
             if (foundDate != null) {
                 lastSeenDate = foundDate;
             }
 
-            String lower = line.toLowerCase();
             // Robust start detection logic (contains)
-            boolean isStart = lower.contains("paid to") || lower.contains("received from")
-                    || (lower.contains("debited") && !lower.contains("debited from"))
-                    || lower.contains("credited to")
-                    || lower.contains("sent to") || lower.contains("purchase")
-                    || lower.contains("payment to");
+            boolean isStart = KeywordClass.BLOCK_START.in(keywords)
+                    || (KeywordClass.DEBITED.in(keywords) && !KeywordClass.DEBITED_FROM.in(keywords));
 
             if (isStart && !currentBlock.isEmpty()) {
-                addTx(transactions, currentBlock, lastSeenDate);
+                addTx(transactions, currentBlock, lastSeenDate, dateHint);
                 currentBlock.clear();
             }
             currentBlock.add(line);
         }
-        addTx(transactions, currentBlock, lastSeenDate);
 
-        log.info("Parsed {} transactions", transactions.size());
-        return transactions;
+        @Override
+        public boolean hasText() {
+            return hasText;
+        }
+
+        @Override
+        public List<TransactionRequest> finish() {
+            log.info("Processing {} lines after filtering", lineCount);
+            addTx(transactions, currentBlock, lastSeenDate, dateHint);
+            currentBlock.clear();
+
+            log.info("Parsed {} transactions", transactions.size());
+            return transactions;
+        }
     }
 
-    private void addTx(List<TransactionRequest> transactions, List<String> block, LocalDateTime lastSeenDate) {
-        TransactionRequest tx = parseBlock(block, lastSeenDate);
+    private void addTx(List<TransactionRequest> transactions, List<String> block, LocalDateTime lastSeenDate,
+            DateLexer.FormatHint dateHint) {
+        TransactionRequest tx = parseBlock(block, lastSeenDate, dateHint);
         if (tx != null) {
             if (isValid(tx)) {
                 transactions.add(tx);
@@ -139,15 +424,20 @@ public class AIPDFParserService {
     }
 
     TransactionRequest parseBlock(List<String> block, LocalDateTime lastSeenDate) {
+        return parseBlock(block, lastSeenDate, null);
+    }
+
+    private TransactionRequest parseBlock(List<String> block, LocalDateTime lastSeenDate,
+            DateLexer.FormatHint dateHint) {
         if (block == null || block.isEmpty())
             return null;
         String combined = String.join(" ", block);
-        String lower = combined.toLowerCase();
+        long keywords = TransactionKeywords.scan(combined);
 
-        if (lower.contains("paid to and") && lower.contains("received from and"))
+        if (KeywordClass.SUMMARY_PAID_TO.in(keywords) && KeywordClass.SUMMARY_RECEIVED_FROM.in(keywords))
             return null;
 
-        String type = determineTransactionType(combined);
+        String type = determineTransactionType(combined, keywords);
         if ("UNKNOWN".equals(type))
             return null;
 
@@ -161,7 +451,7 @@ public class AIPDFParserService {
         tx.setAmount(amount);
 
         // Try to find date in the block first; fallback to sticky date
-        LocalDateTime extractedDate = extractDate(combined);
+        LocalDateTime extractedDate = extractDate(combined, dateHint);
         if (extractedDate == null) {
             extractedDate = lastSeenDate;
         }
@@ -172,26 +462,25 @@ public class AIPDFParserService {
         }
 
         tx.setDescription(extractDescription(block, type));
-        tx.setPaymentMethod(lower.contains("cash") ? "CASH" : "UPI");
+        tx.setPaymentMethod(KeywordClass.CASH.in(keywords) ? "CASH" : "UPI");
 
         return tx;
     }
 
     String determineTransactionType(String text) {
-        String lower = text.toLowerCase();
+        return determineTransactionType(text, TransactionKeywords.scan(text));
+    }
+
+    private String determineTransactionType(String text, long keywords) {
         // Credit
-        if (lower.contains("received from") || lower.contains("credited") ||
-                lower.contains("refund") || lower.contains("cashback") ||
-                lower.contains("paid to you"))
+        if (KeywordClass.STATEMENT_CREDIT.in(keywords))
             return "CREDIT";
 
         if (BANK_PATTERN.matcher(text).find())
             return "CREDIT";
 
         // Debit
-        if (lower.contains("paid to") || lower.contains("debited") ||
-                lower.contains("sent to") || lower.contains("purchase") ||
-                lower.contains("payment to"))
+        if (KeywordClass.STATEMENT_DEBIT.in(keywords))
             return "DEBIT";
 
         return "UNKNOWN";
@@ -203,10 +492,7 @@ public class AIPDFParserService {
         String lower = combined.toLowerCase();
 
         if ("DEBIT".equals(type)) {
-            Pattern p = Pattern.compile(
-                    "(?:paid to|sent to|transfer to|payment to|pay to)\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s+(?:upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
-                    Pattern.CASE_INSENSITIVE);
-            Matcher m = p.matcher(combined);
+            Matcher m = PAID_TO_NAME_PATTERN.matcher(combined);
             if (m.find()) {
                 name = cleanName(m.group(1), "");
                 if (!name.isEmpty() && !name.toLowerCase().matches(".*(?:bank|account|wallet|your).*")) {
@@ -226,10 +512,7 @@ public class AIPDFParserService {
             }
         } else { // CREDIT
             // 1. Try "Paid by" pattern first (most specific for income)
-            Pattern paidByPattern = Pattern.compile(
-                    "paid\\s+by\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s*-|\\s+(?:paid|to|upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
-                    Pattern.CASE_INSENSITIVE);
-            Matcher paidByMatcher = paidByPattern.matcher(combined);
+            Matcher paidByMatcher = PAID_BY_NAME_PATTERN.matcher(combined);
             if (paidByMatcher.find()) {
                 name = cleanName(paidByMatcher.group(1), "");
                 if (!name.isEmpty() && !name.toLowerCase().matches(".*(?:bank|account|wallet|your).*")) {
@@ -238,10 +521,7 @@ public class AIPDFParserService {
             }
 
             // 2. Try "Received from" / "Credited from" patterns
-            Pattern receivedPattern = Pattern.compile(
-                    "(?:received from|credited from|credit from)\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s*-|\\s+(?:upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
-                    Pattern.CASE_INSENSITIVE);
-            Matcher receivedMatcher = receivedPattern.matcher(combined);
+            Matcher receivedMatcher = RECEIVED_FROM_NAME_PATTERN.matcher(combined);
             if (receivedMatcher.find()) {
                 name = cleanName(receivedMatcher.group(1), "");
                 if (!name.isEmpty() && !name.toLowerCase().matches(".*(?:bank|account|wallet|your).*")) {
@@ -325,71 +605,16 @@ public class AIPDFParserService {
     private Double extractAmount(String text) {
         Matcher m = CURRENCY_PATTERN.matcher(text);
         while (m.find()) {
-            try {
-                String val = m.group(1).replace(",", "");
-                double d = Double.parseDouble(val);
-                if (d > 0 && d < 1000000)
-                    return d;
-            } catch (Exception e) {
-                /* ignore */ }
+            long paise = AmountScanner.scanPaise(text, m.start(1), m.end(1));
+            if (paise > 0 && paise < MAX_AMOUNT_PAISE)
+                return AmountScanner.toRupees(paise);
         }
         return null;
     }
 
-    private LocalDateTime extractDate(String text) {
-        Matcher m = DATE_PATTERN.matcher(text);
-        if (m.find()) {
-            // Group 1: Numeric (dd/mm/yyyy)
-            // Group 2: ISO (yyyy-mm-dd)
-            // Group 3: Text Month (dd Mon yyyy)
-
-            try {
-                if (m.group(3) != null) {
-                    // Text Month Logic
-                    String s = m.group(3);
-                    // Normalize: remove dots, commas, extra spaces -> "01 Oct 2025"
-                    s = s.replaceAll("[,\\.\\-]", " ").replaceAll("\\s+", " ").trim();
-                    log.debug("Normalized Text-Month Date: '{}'", s);
-
-                    List<DateTimeFormatter> textFormatters = Arrays.asList(
-                            createFormatter("d MMM yyyy"),
-                            createFormatter("d MMM yy"),
-                            createFormatter("dd MMM yyyy"));
-
-                    for (DateTimeFormatter fmt : textFormatters) {
-                        try {
-                            return LocalDate.parse(s, fmt).atStartOfDay();
-                        } catch (Exception ignored) {
-                        }
-                    }
-                } else if (m.group(2) != null) {
-                    // ISO Logic
-                    String s = m.group(2).replaceAll("\\s+", ""); // remove spaces "2023 - 10 - 26"
-                    return LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE).atStartOfDay();
-                } else if (m.group(1) != null) {
-                    // Numeric Logic
-                    String s = m.group(1);
-                    // Normalize: replace . - with / -> "26/10/2023"
-                    s = s.replaceAll("[\\.\\-]", "/").replaceAll("\\s+", "");
-                    log.debug("Normalized Numeric Date: '{}'", s);
-
-                    List<DateTimeFormatter> numericFormatters = Arrays.asList(
-                            createFormatter("d/M/yyyy"),
-                            createFormatter("d/M/yy"));
-
-                    for (DateTimeFormatter fmt : numericFormatters) {
-                        try {
-                            return LocalDate.parse(s, fmt).atStartOfDay();
-                        } catch (Exception ignored) {
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error parsing date group: {}", e.getMessage());
-            }
-        }
-        log.warn("Failed to find date pattern in text: {}", text.substring(0, Math.min(100, text.length())));
-        return null;
+    private LocalDateTime extractDate(String text, DateLexer.FormatHint hint) {
+        // Called for every line by the segmenter, so a miss is the common case: stay quiet.
+        return DateLexer.find(text, hint);
     }
 
     private boolean isValid(TransactionRequest tx) {
@@ -2,78 +2,310 @@ package com.upiq.pdf.service;
 
 import com.upiq.pdf.dto.TransactionRequest;
 import com.upiq.pdf.exceptions.ParsingException;
+import com.upiq.pdf.service.CsvColumnMapping.Field;
+import com.upiq.pdf.utils.AmountScanner;
+import com.upiq.pdf.utils.DateLexer;
 import com.upiq.pdf.utils.ParsingUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CSVParserService {
 
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setTrim(true)
+            .build();
+    // Chunks after the first carry no header row; columns come from the shared mapping.
+    private static final CSVFormat CHUNK_FORMAT = CSVFormat.DEFAULT.builder().setTrim(true).build();
+    private static final int PROGRESS_INTERVAL = 1000;
+
     private final TransactionMappingService mappingService;
+    private final ForkJoinPool parserPool;
+
+    @Value("${app.parser.csv.parallel-min-bytes:4194304}")
+    private long parallelMinBytes;
 
     public List<TransactionRequest> parseCSV(MultipartFile file) {
+        return parseCSV(file, ParseProgressListener.NONE);
+    }
+
+    public List<TransactionRequest> parseCSV(MultipartFile file, ParseProgressListener listener) {
+        if (parserPool.getParallelism() > 1 && file.getSize() >= parallelMinBytes) {
+            return parseCSVInParallel(file, listener, parserPool.getParallelism());
+        }
         List<TransactionRequest> transactions = new ArrayList<>();
+        streamCSV(file, transactions::add, listener);
+        return transactions;
+    }
+
+    /**
+     * Parses the file record by record, handing each valid transaction to {@code sink}
+     * as soon as it is mapped. Nothing but the current record is held in memory.
+     *
+     * @return the number of transactions handed to the sink
+     */
+    public int streamCSV(MultipartFile file, Consumer<TransactionRequest> sink) {
+        return streamCSV(file, sink, ParseProgressListener.NONE);
+    }
+
+    public int streamCSV(MultipartFile file, Consumer<TransactionRequest> sink, ParseProgressListener listener) {
+        int parsed = 0;
 
         try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim())) {
+             CSVParser csvParser = new CSVParser(reader, CSV_FORMAT)) {
 
-            List<CSVRecord> records = csvParser.getRecords();
-            log.info("Parsing {} CSV records", records.size());
+            CsvColumnMapping columns = CsvColumnMapping.resolve(csvParser.getHeaderNames());
+            DateLexer.FormatHint dateHint = new DateLexer.FormatHint();
+            long records = 0;
 
-            for (CSVRecord record : records) {
+            for (CSVRecord record : csvParser) {
+                records++;
                 try {
-                    TransactionRequest tx = parseRecord(record);
+                    TransactionRequest tx = parseRecord(record, columns, dateHint);
                     if (tx != null && tx.getAmount() != null && tx.getAmount() > 0) {
-                        transactions.add(tx);
+                        sink.accept(tx);
+                        parsed++;
                     }
                 } catch (Exception e) {
                     log.warn("Failed to parse CSV record {}: {}", record.getRecordNumber(), e.getMessage());
                 }
+                if (records % PROGRESS_INTERVAL == 0) {
+                    listener.onProgress(ParseProgressListener.Unit.RECORDS, records, -1);
+                }
             }
+            listener.onProgress(ParseProgressListener.Unit.RECORDS, records, records);
+            log.info("Read {} CSV records", records);
 
         } catch (Exception e) {
             log.error("Error parsing CSV file: {}", e.getMessage(), e);
             throw new ParsingException("Failed to parse CSV file: " + e.getMessage(), e);
         }
 
-        log.info("Successfully parsed {} transactions from CSV", transactions.size());
-        return transactions;
+        log.info("Successfully parsed {} transactions from CSV", parsed);
+        return parsed;
+    }
+
+    /**
+     * Splits the file into byte ranges that start on record boundaries and maps each
+     * range on the parser pool with the shared column mapping. Results are merged in
+     * file order, so the output (and every count derived from it) is identical to
+     * {@link #streamCSV}. Splits into at most {@code chunks} ranges.
+     */
+    List<TransactionRequest> parseCSVInParallel(MultipartFile file, ParseProgressListener listener, int chunks) {
+        Path spooled = null;
+        try {
+            spooled = ParsingUtils.spoolToTempFile(file, ".csv");
+            long size = Files.size(spooled);
+            List<Long> boundaries = findRecordBoundaries(spooled, size, chunks);
+
+            CsvColumnMapping columns;
+            try (Reader reader = new InputStreamReader(
+                    new ByteArrayInputStream(readRange(spooled, 0, boundaries.get(0))), StandardCharsets.UTF_8);
+                 CSVParser headerParser = new CSVParser(reader, CSV_FORMAT)) {
+                columns = CsvColumnMapping.resolve(headerParser.getHeaderNames());
+            }
+
+            AtomicLong recordsDone = new AtomicLong();
+            List<Callable<CsvChunk>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.size(); i++) {
+                long start = boundaries.get(i);
+                long end = boundaries.get(i + 1);
+                Path source = spooled;
+                tasks.add(() -> {
+                    CsvChunk chunk = parseChunk(source, start, end, columns);
+                    listener.onProgress(ParseProgressListener.Unit.RECORDS,
+                            recordsDone.addAndGet(chunk.records()), -1);
+                    return chunk;
+                });
+            }
+
+            List<TransactionRequest> transactions = new ArrayList<>();
+            long recordOffset = 0;
+            for (Future<CsvChunk> future : parserPool.invokeAll(tasks)) {
+                CsvChunk chunk = future.get();
+                transactions.addAll(chunk.transactions());
+                for (CsvChunk.Failure failure : chunk.failures()) {
+                    log.warn("Failed to parse CSV record {}: {}", recordOffset + failure.recordNumber(),
+                            failure.message());
+                }
+                recordOffset += chunk.records();
+            }
+            listener.onProgress(ParseProgressListener.Unit.RECORDS, recordOffset, recordOffset);
+            log.info("Read {} CSV records in {} chunks", recordOffset, tasks.size());
+            log.info("Successfully parsed {} transactions from CSV", transactions.size());
+            return transactions;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParsingException("CSV parsing was interrupted", e);
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Error parsing CSV file: {}", cause.getMessage(), cause);
+            throw new ParsingException("Failed to parse CSV file: " + cause.getMessage(), cause);
+        } finally {
+            ParsingUtils.deleteQuietly(spooled);
+        }
     }
 
-    private TransactionRequest parseRecord(CSVRecord record) {
+    private CsvChunk parseChunk(Path spooled, long start, long end, CsvColumnMapping columns) throws IOException {
+        List<TransactionRequest> transactions = new ArrayList<>();
+        List<CsvChunk.Failure> failures = new ArrayList<>();
+        DateLexer.FormatHint dateHint = new DateLexer.FormatHint();
+        long records = 0;
+
+        try (Reader reader = new InputStreamReader(
+                new ByteArrayInputStream(readRange(spooled, start, end)), StandardCharsets.UTF_8);
+             CSVParser csvParser = new CSVParser(reader, CHUNK_FORMAT)) {
+
+            for (CSVRecord record : csvParser) {
+                records++;
+                try {
+                    TransactionRequest tx = parseRecord(record, columns, dateHint);
+                    if (tx != null && tx.getAmount() != null && tx.getAmount() > 0) {
+                        transactions.add(tx);
+                    }
+                } catch (Exception e) {
+                    failures.add(new CsvChunk.Failure(record.getRecordNumber(), e.getMessage()));
+                }
+            }
+        }
+        return new CsvChunk(transactions, failures, records);
+    }
+
+    /**
+     * Returns ascending offsets [end of header, b1, ..., size]. Each offset is the
+     * first byte after a record-terminating newline, found with a small RFC 4180
+     * state machine so newlines inside quoted fields are never split on. Blank lines
+     * before the header are skipped, as the streaming parser's CSVFormat does.
+     */
+    static List<Long> findRecordBoundaries(Path spooled, long size, int chunks) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        long chunkSize = Long.MAX_VALUE;
+        long nextTarget = 0;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(spooled), 64 * 1024)) {
+            boolean inQuotes = false;
+            boolean quoteSeen = false;
+            boolean fieldStart = true;
+            boolean lineEmpty = true;
+            long pos = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                pos++;
+                if (inQuotes) {
+                    if (!quoteSeen) {
+                        quoteSeen = b == '"';
+                        continue;
+                    }
+                    quoteSeen = false;
+                    if (b == '"') {
+                        continue; // escaped quote
+                    }
+                    inQuotes = false;
+                }
+                if (b == '"' && fieldStart) {
+                    inQuotes = true;
+                    fieldStart = false;
+                    lineEmpty = false;
+                } else if (b == '\n') {
+                    fieldStart = true;
+                    if (lineEmpty) {
+                        continue;
+                    }
+                    lineEmpty = true;
+                    if (boundaries.isEmpty()) {
+                        // End of the header record; split the remaining bytes evenly.
+                        boundaries.add(pos);
+                        chunkSize = Math.max(1, (size - pos) / chunks);
+                        nextTarget = pos + chunkSize;
+                    } else if (pos >= nextTarget && pos < size) {
+                        boundaries.add(pos);
+                        nextTarget = pos + chunkSize;
+                    }
+                } else {
+                    fieldStart = b == ',' || b == '\r';
+                    lineEmpty &= b == '\r';
+                }
+            }
+        }
+        if (boundaries.isEmpty()) {
+            boundaries.add(size); // header only
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+
+    private static byte[] readRange(Path spooled, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        try (FileChannel channel = FileChannel.open(spooled, StandardOpenOption.READ)) {
+            channel.position(start);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the range is filled
+            }
+        }
+        return buffer.array();
+    }
+
+    private record CsvChunk(List<TransactionRequest> transactions, List<Failure> failures, long records) {
+
+        private record Failure(long recordNumber, String message) {
+        }
+    }
+
+    private TransactionRequest parseRecord(CSVRecord record, CsvColumnMapping columns, DateLexer.FormatHint dateHint) {
         TransactionRequest tx = new TransactionRequest();
 
         // Try to extract amount from various possible column names
-        String amountStr = getValueIgnoreCase(record, "amount", "value", "transaction_amount", "amt", "total");
-        if (amountStr != null && !amountStr.isEmpty()) {
-            try {
-                tx.setAmount(Double.parseDouble(amountStr.replaceAll("[^0-9.-]", "")));
-            } catch (NumberFormatException e) {
+        String amountStr = columns.get(record, Field.AMOUNT);
+        if (amountStr != null) {
+            long paise = AmountScanner.scanPaise(amountStr);
+            if (paise != AmountScanner.NO_AMOUNT) {
+                tx.setAmount(AmountScanner.toRupees(paise));
+            } else {
                 log.warn("Could not parse amount: {}", amountStr);
             }
         }
 
         // Extract type (income/expense)
-        String typeStr = getValueIgnoreCase(record, "type", "transaction_type", "credit_debit", "cd");
+        String typeStr = columns.get(record, Field.TYPE);
         if (typeStr != null) {
             tx.setType(mappingService.extractType(typeStr));
         } else {
             // Infer from amount or description
-            String description = getValueIgnoreCase(record, "description", "details", "narration", "remarks", "memo");
+            String description = columns.get(record, Field.TYPE_HINT);
             if (description != null) {
                 tx.setType(mappingService.extractType(description));
             } else {
@@ -82,51 +314,31 @@ public class CSVParserService {
         }
 
         // Extract description
-        String description = getValueIgnoreCase(record, "description", "details", "narration", "remarks", "memo", "note");
+        String description = columns.get(record, Field.DESCRIPTION);
         if (description != null) {
             tx.setDescription(description.trim());
         }
 
         // Extract date
-        String dateStr = getValueIgnoreCase(record, "date", "transaction_date", "date_time", "timestamp");
+        String dateStr = columns.get(record, Field.DATE);
         if (dateStr != null) {
-            tx.setDate(ParsingUtils.parseDate(dateStr));
+            tx.setDate(ParsingUtils.parseDate(dateStr, dateHint));
         } else {
             tx.setDate(LocalDateTime.now());
         }
 
         // Extract payment method
-        String paymentMethod = getValueIgnoreCase(record, "payment_method", "method", "payment_type", "mode");
+        String paymentMethod = columns.get(record, Field.PAYMENT_METHOD);
         if (paymentMethod != null) {
             tx.setPaymentMethod(mappingService.extractPaymentMethod(paymentMethod));
         }
 
         // Extract category if available
-        String category = getValueIgnoreCase(record, "category", "cat", "transaction_category");
-        if (category != null && !category.isEmpty()) {
+        String category = columns.get(record, Field.CATEGORY);
+        if (category != null) {
             tx.setCategory(category.trim());
         }
 
         return tx;
     }
-
-    private String getValueIgnoreCase(CSVRecord record, String... possibleKeys) {
-        for (String key : possibleKeys) {
-            try {
-                String value = record.get(key);
-                if (value != null && !value.trim().isEmpty()) {
-                    return value;
-                }
-            } catch (IllegalArgumentException e) {
-                // Try case-insensitive match
-                for (String header : record.getParser().getHeaderMap().keySet()) {
-                    if (header.equalsIgnoreCase(key)) {
-                        return record.get(header);
-                    }
-                }
-            }
-        }
-        return null;
-    }
 }
-
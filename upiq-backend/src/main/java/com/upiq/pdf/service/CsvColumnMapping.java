@@ -0,0 +1,76 @@
+package com.upiq.pdf.service;
+
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Header-to-field mapping for a CSV file, resolved once when the header is read.
+ * Each field keeps the column indexes of its aliases in priority order, so rows are
+ * mapped by index with no header lookups and no exceptions. Immutable and safe to
+ * share between threads.
+ */
+final class CsvColumnMapping {
+
+    enum Field {
+        AMOUNT("amount", "value", "transaction_amount", "amt", "total"),
+        TYPE("type", "transaction_type", "credit_debit", "cd"),
+        TYPE_HINT("description", "details", "narration", "remarks", "memo"),
+        DESCRIPTION("description", "details", "narration", "remarks", "memo", "note"),
+        DATE("date", "transaction_date", "date_time", "timestamp"),
+        PAYMENT_METHOD("payment_method", "method", "payment_type", "mode"),
+        CATEGORY("category", "cat", "transaction_category");
+
+        private final String[] aliases;
+
+        Field(String... aliases) {
+            this.aliases = aliases;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final int[][] columns;
+
+    private CsvColumnMapping(int[][] columns) {
+        this.columns = columns;
+    }
+
+    static CsvColumnMapping resolve(List<String> headerNames) {
+        List<String> normalized = new ArrayList<>(headerNames.size());
+        for (String header : headerNames) {
+            normalized.add(header == null ? "" : header.trim().toLowerCase(Locale.ROOT));
+        }
+
+        int[][] columns = new int[FIELDS.length][];
+        for (Field field : FIELDS) {
+            List<Integer> indexes = new ArrayList<>();
+            for (String alias : field.aliases) {
+                int index = normalized.indexOf(alias);
+                if (index >= 0) {
+                    indexes.add(index);
+                }
+            }
+            columns[field.ordinal()] = indexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new CsvColumnMapping(columns);
+    }
+
+    /**
+     * Value of the highest-priority alias column that is present and non-blank in
+     * this row, or {@code null}.
+     */
+    String get(CSVRecord record, Field field) {
+        for (int index : columns[field.ordinal()]) {
+            if (index < record.size()) {
+                String value = record.get(index);
+                if (value != null && !value.isBlank()) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+package com.upiq.pdf.service;
+
+import com.upiq.pdf.dto.ParseJobResponse;
+import com.upiq.pdf.dto.ParsingResponse;
+import com.upiq.pdf.exceptions.ParseJobNotFoundException;
+import com.upiq.pdf.exceptions.ParseQueueFullException;
+import com.upiq.pdf.exceptions.ParsingException;
+import com.upiq.pdf.model.ParseJob;
+import com.upiq.pdf.utils.ParsingUtils;
+import com.upiq.pdf.utils.SpooledMultipartFile;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs uploads through {@link ParserService} off the request thread. The upload is
+ * spooled to a temp file, the caller gets a job id straight away, and progress plus
+ * the final {@link ParsingResponse} are available by polling or over SSE until the
+ * finished job expires.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParseJobService {
+
+    private static final String PROGRESS_EVENT = "progress";
+    private static final String COMPLETED_EVENT = "completed";
+    private static final String FAILED_EVENT = "failed";
+    private static final long SHUTDOWN_GRACE_SECONDS = 10;
+
+    private final ParserService parserService;
+    private final FileValidationService validationService;
+    private final ExecutorService parseJobExecutor;
+
+    private final Map<String, ParseJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${app.parser.jobs.ttl-minutes:15}")
+    private long ttlMinutes;
+
+    @Value("${app.parser.jobs.sse-timeout-ms:300000}")
+    private long sseTimeoutMs;
+
+    public ParseJobResponse submit(MultipartFile file, Long userId) {
+        // Reject bad uploads synchronously so the client gets the error on the POST.
+        validationService.validateFile(file);
+
+        SpooledMultipartFile upload;
+        try {
+            upload = new SpooledMultipartFile(ParsingUtils.spoolToTempFile(file, ".upload"), file);
+        } catch (IOException e) {
+            throw new ParsingException("Failed to store upload: " + e.getMessage(), e);
+        }
+
+        ParseJob job = new ParseJob(userId, file.getOriginalFilename());
+        jobs.put(job.getId(), job);
+        try {
+            parseJobExecutor.execute(new QueuedJob(job, upload));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            ParsingUtils.deleteQuietly(upload.getPath());
+            throw new ParseQueueFullException("Too many parse jobs are waiting; try again shortly", e);
+        }
+
+        log.info("Queued parse job {} for user {}: {}", job.getId(), userId, job.getFilename());
+        return toResponse(job);
+    }
+
+    public ParseJobResponse getJob(String jobId, Long userId) {
+        return toResponse(findJob(jobId, userId));
+    }
+
+    /**
+     * Streams {@code progress} events followed by one {@code completed} or
+     * {@code failed} event carrying the full job, then closes the stream.
+     */
+    public SseEmitter subscribe(String jobId, Long userId) {
+        ParseJob job = findJob(jobId, userId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        List<SseEmitter> listeners = subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        listeners.add(emitter);
+        emitter.onCompletion(() -> listeners.remove(emitter));
+        emitter.onTimeout(() -> listeners.remove(emitter));
+        emitter.onError(e -> listeners.remove(emitter));
+
+        send(emitter, PROGRESS_EVENT, job);
+        // Whoever removes the emitter first (this thread or finish()) sends the final event.
+        if (job.isFinished() && listeners.remove(emitter)) {
+            sendFinal(emitter, job);
+            subscribers.remove(jobId, List.of());
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.parser.jobs.cleanup-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(ttlMinutes));
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+        subscribers.keySet().removeIf(jobId -> !jobs.containsKey(jobId));
+        int evicted = before - jobs.size();
+        if (evicted > 0) {
+            log.info("Evicted {} expired parse jobs, {} remaining", evicted, jobs.size());
+        }
+    }
+
+    /**
+     * Stops the executor before it is destroyed. Jobs still in the queue never run, so
+     * their uploads are deleted and they are marked failed here. Running jobs are
+     * interrupted and given a short grace period to delete their own temp files, since
+     * their virtual threads would not hold up JVM exit.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        int discarded = 0;
+        for (Runnable task : parseJobExecutor.shutdownNow()) {
+            if (task instanceof QueuedJob queued) {
+                ParsingUtils.deleteQuietly(queued.upload.getPath());
+                queued.job.fail("Server shut down before the job started");
+                discarded++;
+            }
+        }
+        if (discarded > 0) {
+            log.info("Discarded {} queued parse jobs on shutdown", discarded);
+        }
+        if (!parseJobExecutor.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Parse jobs still running after {}s; their temp files may be left behind",
+                    SHUTDOWN_GRACE_SECONDS);
+        }
+    }
+
+    private void run(ParseJob job, SpooledMultipartFile upload) {
+        job.markRunning();
+        publish(job);
+        try {
+            ParsingResponse response = parserService.parseFile(upload, (unit, completed, total) -> {
+                job.updateProgress(unit, completed, total);
+                publish(job);
+            });
+            job.complete(response);
+            log.info("Parse job {} completed with {} transactions", job.getId(), response.getSuccessfulParses());
+        } catch (Exception e) {
+            log.error("Parse job {} failed: {}", job.getId(), e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            ParsingUtils.deleteQuietly(upload.getPath());
+        }
+
+        List<SseEmitter> listeners = subscribers.remove(job.getId());
+        if (listeners != null) {
+            for (SseEmitter emitter : listeners) {
+                if (listeners.remove(emitter)) {
+                    sendFinal(emitter, job);
+                }
+            }
+        }
+    }
+
+    // A named task, so shutdown() can find the uploads of jobs that never started
+    private final class QueuedJob implements Runnable {
+
+        private final ParseJob job;
+        private final SpooledMultipartFile upload;
+
+        private QueuedJob(ParseJob job, SpooledMultipartFile upload) {
+            this.job = job;
+            this.upload = upload;
+        }
+
+        @Override
+        public void run() {
+            ParseJobService.this.run(job, upload);
+        }
+    }
+
+    private ParseJob findJob(String jobId, Long userId) {
+        ParseJob job = jobs.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden.
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new ParseJobNotFoundException("Parse job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private void publish(ParseJob job) {
+        List<SseEmitter> listeners = subscribers.get(job.getId());
+        if (listeners != null) {
+            for (SseEmitter emitter : listeners) {
+                send(emitter, PROGRESS_EVENT, job);
+            }
+        }
+    }
+
+    private void sendFinal(SseEmitter emitter, ParseJob job) {
+        send(emitter, job.getStatus() == ParseJob.Status.COMPLETED ? COMPLETED_EVENT : FAILED_EVENT, job);
+        emitter.complete();
+    }
+
+    private void send(SseEmitter emitter, String event, ParseJob job) {
+        try {
+            emitter.send(SseEmitter.event().name(event).id(job.getId()).data(toResponse(job)));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the completion callback drops the emitter.
+            emitter.completeWithError(e);
+        }
+    }
+
+    private ParseJobResponse toResponse(ParseJob job) {
+        return ParseJobResponse.builder()
+                .jobId(job.getId())
+                .filename(job.getFilename())
+                .status(job.getStatus())
+                .progressUnit(job.getProgressUnit())
+                .completed(job.getCompleted())
+                .total(job.getTotal())
+                .result(job.getResult())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
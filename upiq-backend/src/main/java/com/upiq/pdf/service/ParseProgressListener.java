@@ -0,0 +1,23 @@
+package com.upiq.pdf.service;
+
+/**
+ * Receives progress updates while a file is being parsed. Implementations must be
+ * thread-safe: parallel PDF and CSV parsing report from parser pool workers.
+ */
+@FunctionalInterface
+public interface ParseProgressListener {
+
+    ParseProgressListener NONE = (unit, completed, total) -> {
+    };
+
+    enum Unit {
+        PAGES,
+        RECORDS
+    }
+
+    /**
+     * @param completed pages or records processed so far
+     * @param total     total pages or records, or -1 when not known up front
+     */
+    void onProgress(Unit unit, long completed, long total);
+}
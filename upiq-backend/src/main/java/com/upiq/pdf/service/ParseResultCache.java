@@ -0,0 +1,301 @@
+package com.upiq.pdf.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upiq.pdf.dto.ParseCacheStats;
+import com.upiq.pdf.dto.ParsingResponse;
+import com.upiq.pdf.dto.TransactionRequest;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Parse results keyed by the SHA-256 of the uploaded bytes. Re-uploading the same
+ * statement returns the earlier {@link ParsingResponse} without touching PDFBox.
+ *
+ * The memory tier is an access-ordered LRU bounded by the estimated size of its
+ * entries. When {@code app.parser.cache.disk-dir} is set, entries are also written
+ * there as JSON and survive memory eviction and restarts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParseResultCache {
+
+    // Bump whenever parser output changes so results from older parsers are never served.
+    private static final String PARSER_VERSION = "v12";
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private static final int TRANSACTION_OVERHEAD_BYTES = 160;
+
+    private final ObjectMapper objectMapper;
+
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+    private long hits;
+    private long diskHits;
+    private long misses;
+    private long evictions;
+
+    @Value("${app.parser.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.parser.cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${app.parser.cache.disk-dir:}")
+    private String diskDir;
+
+    @Value("${app.parser.cache.disk-max-bytes:268435456}")
+    private long diskMaxBytes;
+
+    private Path diskPath;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (enabled && diskDir != null && !diskDir.isBlank()) {
+            diskPath = Files.createDirectories(Path.of(diskDir));
+            log.info("Parse result disk cache at {}", diskPath.toAbsolutePath());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cache key for an upload: parser version, file extension (the same bytes parse
+     * differently as PDF and CSV) and a streaming SHA-256 of the content.
+     */
+    public String keyFor(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = file.getInputStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return PARSER_VERSION + "-" + extensionOf(file.getOriginalFilename()) + "-"
+                + HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return a copy of the cached response, or {@code null} on a miss
+     */
+    public ParsingResponse get(String key) {
+        CachedResult cached;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return copyOf(cached.response());
+            }
+        }
+
+        ParsingResponse fromDisk = readFromDisk(key);
+        synchronized (this) {
+            if (fromDisk == null) {
+                misses++;
+                return null;
+            }
+            diskHits++;
+            putInMemory(key, fromDisk);
+        }
+        return copyOf(fromDisk);
+    }
+
+    public void put(String key, ParsingResponse response) {
+        ParsingResponse stored = copyOf(response);
+        synchronized (this) {
+            putInMemory(key, stored);
+        }
+        writeToDisk(key, stored);
+    }
+
+    public synchronized ParseCacheStats stats() {
+        return ParseCacheStats.builder()
+                .hits(hits)
+                .diskHits(diskHits)
+                .misses(misses)
+                .evictions(evictions)
+                .entries(entries.size())
+                .sizeBytes(sizeBytes)
+                .maxSizeBytes(maxBytes)
+                .diskEnabled(diskPath != null)
+                .build();
+    }
+
+    private void putInMemory(String key, ParsingResponse response) {
+        long weight = estimateSize(response);
+        if (weight > maxBytes) {
+            return;
+        }
+        CachedResult previous = entries.put(key, new CachedResult(response, weight));
+        if (previous != null) {
+            sizeBytes -= previous.weight();
+        }
+        sizeBytes += weight;
+
+        Iterator<CachedResult> eldest = entries.values().iterator();
+        while (sizeBytes > maxBytes && eldest.hasNext()) {
+            sizeBytes -= eldest.next().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private ParsingResponse readFromDisk(String key) {
+        if (diskPath == null) {
+            return null;
+        }
+        Path file = diskPath.resolve(key + ".json");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), ParsingResponse.class);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable cache file {}: {}", file, e.getMessage());
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, ParsingResponse response) {
+        if (diskPath == null) {
+            return;
+        }
+        Path target = diskPath.resolve(key + ".json");
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(diskPath, key, ".tmp");
+            objectMapper.writeValue(temp.toFile(), response);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            pruneDisk();
+        } catch (IOException e) {
+            log.warn("Could not write parse cache file {}: {}", target, e.getMessage());
+            deleteQuietly(temp);
+        }
+    }
+
+    /** Deletes the least recently written files once the directory exceeds its budget. */
+    private void pruneDisk() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(diskPath)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(".json"))
+                    .sorted(Comparator.comparingLong(ParseResultCache::lastModified))
+                    .toList();
+        }
+        long total = 0;
+        for (Path file : files) {
+            total += Files.size(file);
+        }
+        for (Path file : files) {
+            if (total <= diskMaxBytes) {
+                break;
+            }
+            long size = Files.size(file);
+            deleteQuietly(file);
+            total -= size;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static long estimateSize(ParsingResponse response) {
+        long size = ENTRY_OVERHEAD_BYTES + chars(response.getMessage());
+        if (response.getTransactions() != null) {
+            for (TransactionRequest tx : response.getTransactions()) {
+                size += TRANSACTION_OVERHEAD_BYTES + chars(tx.getType()) + chars(tx.getCategory())
+                        + chars(tx.getDescription()) + chars(tx.getPaymentMethod());
+            }
+        }
+        if (response.getErrors() != null) {
+            for (String error : response.getErrors()) {
+                size += 48 + chars(error);
+            }
+        }
+        return size;
+    }
+
+    private static long chars(String s) {
+        return s == null ? 0 : 2L * s.length();
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null || filename.lastIndexOf('.') < 0) {
+            return "none";
+        }
+        return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    // Callers (and the import flow) are free to mutate what they get back.
+    private static ParsingResponse copyOf(ParsingResponse response) {
+        List<TransactionRequest> transactions = null;
+        if (response.getTransactions() != null) {
+            transactions = new ArrayList<>(response.getTransactions().size());
+            for (TransactionRequest tx : response.getTransactions()) {
+                transactions.add(TransactionRequest.builder()
+                        .amount(tx.getAmount())
+                        .type(tx.getType())
+                        .category(tx.getCategory())
+                        .description(tx.getDescription())
+                        .date(tx.getDate())
+                        .paymentMethod(tx.getPaymentMethod())
+                        .build());
+            }
+        }
+        return ParsingResponse.builder()
+                .totalTransactions(response.getTotalTransactions())
+                .successfulParses(response.getSuccessfulParses())
+                .failedParses(response.getFailedParses())
+                .transactions(transactions)
+                .errors(response.getErrors() == null ? null : new ArrayList<>(response.getErrors()))
+                .message(response.getMessage())
+                .build();
+    }
+
+    private record CachedResult(ParsingResponse response, long weight) {
+    }
+}
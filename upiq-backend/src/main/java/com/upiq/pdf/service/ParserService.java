@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,8 +20,44 @@ public class ParserService {
     private final FileValidationService validationService;
     private final AIPDFParserService pdfParserService;
     private final CSVParserService csvParserService;
+    private final ParseResultCache resultCache;
 
     public ParsingResponse parseFile(MultipartFile file) {
+        return parseFile(file, ParseProgressListener.NONE);
+    }
+
+    public ParsingResponse parseFile(MultipartFile file, ParseProgressListener listener) {
+        String cacheKey = cacheKeyFor(file);
+        if (cacheKey != null) {
+            ParsingResponse cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                // Identical bytes were validated and parsed before; only the name may differ.
+                log.info("Parse cache hit for file: {}", file.getOriginalFilename());
+                cached.setMessage(successMessage(cached.getSuccessfulParses(), file));
+                return cached;
+            }
+        }
+
+        ParsingResponse response = parseUncached(file, listener);
+        if (cacheKey != null) {
+            resultCache.put(cacheKey, response);
+        }
+        return response;
+    }
+
+    private String cacheKeyFor(MultipartFile file) {
+        if (!resultCache.isEnabled() || file == null || file.isEmpty()) {
+            return null;
+        }
+        try {
+            return resultCache.keyFor(file);
+        } catch (IOException e) {
+            log.warn("Could not hash upload, parsing without cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private ParsingResponse parseUncached(MultipartFile file, ParseProgressListener listener) {
         // Validate file first
         validationService.validateFile(file);
 
@@ -33,10 +70,10 @@ public class ParserService {
         try {
             if (validationService.isPDF(file)) {
                 log.info("Parsing PDF file: {}", file.getOriginalFilename());
-                transactions = pdfParserService.parsePDF(file);
+                transactions = pdfParserService.parsePDF(file, listener);
             } else if (validationService.isCSV(file)) {
                 log.info("Parsing CSV file: {}", file.getOriginalFilename());
-                transactions = csvParserService.parseCSV(file);
+                transactions = csvParserService.parseCSV(file, listener);
             } else {
                 throw new ParsingException("Unsupported file type. Only PDF and CSV files are allowed");
             }
@@ -65,11 +102,7 @@ public class ParserService {
             throw new ParsingException("Failed to parse file: " + e.getMessage(), e);
         }
 
-        String message = String.format(
-                "Successfully parsed %d transactions from %s",
-                successfulParses,
-                file.getOriginalFilename()
-        );
+        String message = successMessage(successfulParses, file);
 
         return ParsingResponse.builder()
                 .totalTransactions(totalTransactions)
@@ -80,5 +113,12 @@ public class ParserService {
                 .message(message)
                 .build();
     }
-}
 
+    private static String successMessage(int successfulParses, MultipartFile file) {
+        return String.format(
+                "Successfully parsed %d transactions from %s",
+                successfulParses,
+                file.getOriginalFilename()
+        );
+    }
+}
@@ -1,7 +1,11 @@
 package com.upiq.pdf.service;
 
 import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.utils.AmountScanner;
+import com.upiq.pdf.utils.DateLexer;
 import com.upiq.pdf.utils.ParsingUtils;
+import com.upiq.pdf.utils.TransactionKeywords;
+import com.upiq.pdf.utils.TransactionKeywords.KeywordClass;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -14,7 +18,7 @@ import java.util.regex.Pattern;
 @Service
 public class TransactionMappingService {
 
-    private static final double MAX_REASONABLE_AMOUNT = 10_000_000d; // 1 crore
+    private static final long MAX_REASONABLE_AMOUNT_PAISE = 10_000_000_00L; // 1 crore
 
     private static final String TYPE_CREDIT = "credit";
     private static final String TYPE_DEBIT = "debit";
@@ -32,15 +36,6 @@ public class TransactionMappingService {
             "([-+]?\\d{1,7})"
     );
 
-    private static final Pattern DATE_PATTERN = Pattern.compile(
-            "\\b(\\d{1,2})[/-](\\d{1,2})[/-](\\d{2,4})\\b"
-    );
-
-    private static final String[] IDENTIFIER_KEYWORDS = {
-            "transaction id", "upi txn", "upi transaction id", "utr",
-            "reference no", "ref no", "reference id", "upi reference", "order id"
-    };
-
     private static final Pattern UPI_HANDLE_PATTERN = Pattern.compile("[A-Za-z0-9\\.\\-]+@[a-z]+");
 
     public TransactionRequest mapTransactionBlock(List<String> blockLines) {
@@ -100,7 +95,7 @@ public class TransactionMappingService {
 
         Matcher matcher = CURRENCY_AMOUNT_PATTERN.matcher(text);
         if (matcher.find()) {
-            return parseAmount(matcher.group(1));
+            return parseAmount(text, matcher.start(1), matcher.end(1));
         }
         return 0.0;
     }
@@ -117,18 +112,18 @@ public class TransactionMappingService {
         try {
             Matcher currencyMatcher = CURRENCY_AMOUNT_PATTERN.matcher(text);
             if (currencyMatcher.find()) {
-                return parseAmount(currencyMatcher.group(1));
+                return parseAmount(text, currencyMatcher.start(1), currencyMatcher.end(1));
             }
 
             Matcher decimalMatcher = DECIMAL_AMOUNT_PATTERN.matcher(text);
             if (decimalMatcher.find()) {
-                return parseAmount(decimalMatcher.group(1));
+                return parseAmount(text, decimalMatcher.start(1), decimalMatcher.end(1));
             }
 
             Matcher integerMatcher = SMALL_INTEGER_AMOUNT_PATTERN.matcher(text);
             while (integerMatcher.find()) {
-                double value = parseAmount(integerMatcher.group(1));
-                if (value > 0 && value <= MAX_REASONABLE_AMOUNT) {
+                double value = parseAmount(text, integerMatcher.start(1), integerMatcher.end(1));
+                if (value > 0) {
                     return value;
                 }
             }
@@ -143,20 +138,14 @@ public class TransactionMappingService {
     public String extractType(String text) {
         if (text == null) return TYPE_DEBIT;
 
-        String lower = text.toLowerCase();
+        long keywords = TransactionKeywords.scan(text);
 
-        if (lower.contains("credit") || lower.contains("cr") ||
-                lower.contains("deposit") || lower.contains("income") ||
-                lower.contains("salary") || lower.contains("refund") ||
-                lower.contains("paid to you") || lower.contains("received from") ||
-                lower.contains("sent to your bank") || lower.contains("to your bank")) {
+        if (KeywordClass.TYPE_CREDIT.in(keywords)) {
 
             return TYPE_CREDIT;
         }
 
-        if (lower.contains("debit") || lower.contains("dr") ||
-                lower.contains("withdrawal") || lower.contains("payment") ||
-                lower.contains("paid to")) {
+        if (KeywordClass.TYPE_DEBIT.in(keywords)) {
 
             return TYPE_DEBIT;
         }
@@ -184,47 +173,35 @@ public class TransactionMappingService {
     }
 
     public LocalDateTime extractDate(String text) {
-        if (text == null) return LocalDateTime.now();
-
-        Matcher matcher = DATE_PATTERN.matcher(text);
-
-        if (matcher.find()) {
-            try {
-                int day = Integer.parseInt(matcher.group(1));
-                int month = Integer.parseInt(matcher.group(2));
-                int year = Integer.parseInt(matcher.group(3));
-
-                if (year < 100) year += 2000;
+        return extractDate(text, null);
+    }
 
-                return LocalDateTime.of(year, month, day, 0, 0);
+    public LocalDateTime extractDate(String text, DateLexer.FormatHint hint) {
+        if (text == null) return LocalDateTime.now();
 
-            } catch (Exception e) {
-                log.debug("Could not parse date from: {}", text);
-            }
+        LocalDateTime date = DateLexer.find(text, hint);
+        if (date != null) {
+            return date;
         }
 
+        log.debug("Could not parse date from: {}", text);
         return LocalDateTime.now();
     }
 
     public String extractPaymentMethod(String text) {
         if (text == null) return "Cash";
 
-        String lower = text.toLowerCase();
+        long keywords = TransactionKeywords.scan(text);
 
-        if (lower.contains("upi") || lower.contains("unified payment") ||
-                lower.contains("gpay") || lower.contains("google pay") ||
-                containsUpiHandle(text)) {
+        if (KeywordClass.UPI.in(keywords) || containsUpiHandle(text)) {
             return "UPI";
         }
 
-        if (lower.contains("card") || lower.contains("visa") ||
-                lower.contains("mastercard") || lower.contains("debit card") ||
-                lower.contains("credit card")) {
+        if (KeywordClass.CARD.in(keywords)) {
             return "Card";
         }
 
-        if (lower.contains("net banking") || lower.contains("neft") ||
-                lower.contains("rtgs") || lower.contains("imps")) {
+        if (KeywordClass.NET_BANKING.in(keywords)) {
             return "Net Banking";
         }
 
@@ -232,17 +209,13 @@ public class TransactionMappingService {
     }
 
     private String determineTypeFromBlock(List<String> lines, String combined) {
-        String lower = combined.toLowerCase();
+        long keywords = TransactionKeywords.scan(combined);
 
-        if (containsAny(lower,
-                "received from", "added to", "credited", "refund", "refunded",
-                "cashback", "paid to you", "sent to your bank", "to your bank",
-                "received in bank")) {
+        if (KeywordClass.BLOCK_CREDIT.in(keywords)) {
             return TYPE_CREDIT;
         }
 
-        if (containsAny(lower,
-                "paid to", "debited from", "sent to", "payment to", "merchant payment")) {
+        if (KeywordClass.BLOCK_DEBIT.in(keywords)) {
             return TYPE_DEBIT;
         }
 
@@ -320,22 +293,10 @@ public class TransactionMappingService {
                 : description.toString();
     }
 
-    private boolean containsAny(String text, String... keywords) {
-        for (String keyword : keywords) {
-            if (text.contains(keyword)) return true;
-        }
-        return false;
-    }
-
     private boolean shouldSkipAmountFromLine(String text) {
         if (text == null) return true;
 
-        String lower = text.toLowerCase();
-
-        for (String keyword : IDENTIFIER_KEYWORDS) {
-            if (lower.contains(keyword)) return true;
-        }
-        return false;
+        return KeywordClass.IDENTIFIER.in(TransactionKeywords.scan(text));
     }
 
     private boolean containsUpiHandle(String text) {
@@ -357,16 +318,10 @@ public class TransactionMappingService {
         return cleaned.isEmpty() ? null : cleaned;
     }
 
-    private double parseAmount(String candidate) {
-        if (candidate == null || candidate.isBlank()) return 0.0;
-
-        try {
-            double value = Double.parseDouble(candidate.replace(",", ""));
-            if (value <= 0 || value > MAX_REASONABLE_AMOUNT) return 0.0;
-            return value;
-        } catch (NumberFormatException ex) {
-            return 0.0;
-        }
+    private double parseAmount(CharSequence text, int start, int end) {
+        long paise = AmountScanner.scanPaise(text, start, end);
+        if (paise <= 0 || paise > MAX_REASONABLE_AMOUNT_PAISE) return 0.0;
+        return AmountScanner.toRupees(paise);
     }
 }
 
@@ -0,0 +1,108 @@
+package com.upiq.pdf.utils;
+
+/**
+ * Allocation-free amount reader producing a fixed-point count of paise.
+ *
+ * Accepts, in order: optional sign, optional {@code ₹}/{@code Rs}/{@code Rs.}/{@code INR}
+ * prefix (any case, the sign may also follow it), digits with grouping commas in any
+ * position (so both {@code 1,00,000} and {@code 100,000} work), and an optional
+ * fraction. The fraction is rounded half-up to two places. Anything after the number
+ * is ignored.
+ */
+public final class AmountScanner {
+
+    /** Returned when the region does not start with an amount. Compares below any real value. */
+    public static final long NO_AMOUNT = Long.MIN_VALUE;
+
+    // Anything above this many rupees is not a statement amount; also keeps us clear of overflow.
+    private static final long MAX_RUPEES = 1_000_000_000_000L;
+
+    private AmountScanner() {
+    }
+
+    public static long scanPaise(CharSequence text) {
+        return text == null ? NO_AMOUNT : scanPaise(text, 0, text.length());
+    }
+
+    public static long scanPaise(CharSequence s, int start, int end) {
+        int i = skipSpaces(s, start, end);
+
+        boolean negative = false;
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i = skipSpaces(s, i + 1, end);
+        }
+
+        int afterPrefix = skipCurrencyPrefix(s, i, end);
+        if (afterPrefix != i) {
+            i = skipSpaces(s, afterPrefix, end);
+            if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                negative = s.charAt(i) == '-';
+                i = skipSpaces(s, i + 1, end);
+            }
+        }
+
+        long rupees = 0;
+        int digits = 0;
+        while (i < end) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                rupees = rupees * 10 + (c - '0');
+                if (rupees > MAX_RUPEES) return NO_AMOUNT;
+                digits++;
+                i++;
+            } else if (c == ',' && digits > 0 && i + 1 < end && isDigit(s.charAt(i + 1))) {
+                i++;
+            } else {
+                break;
+            }
+        }
+
+        long paise = 0;
+        if (i < end && s.charAt(i) == '.' && i + 1 < end && isDigit(s.charAt(i + 1))) {
+            i++;
+            int place = 0;
+            while (i < end && isDigit(s.charAt(i))) {
+                int d = s.charAt(i) - '0';
+                if (place == 0) paise += d * 10L;
+                else if (place == 1) paise += d;
+                else if (place == 2 && d >= 5) paise++;
+                place++;
+                digits++;
+                i++;
+            }
+        }
+
+        if (digits == 0) return NO_AMOUNT;
+        long total = rupees * 100 + paise;
+        return negative ? -total : total;
+    }
+
+    public static double toRupees(long paise) {
+        return paise / 100.0;
+    }
+
+    private static int skipCurrencyPrefix(CharSequence s, int i, int end) {
+        if (i >= end) return i;
+        char c = s.charAt(i);
+        if (c == '₹') {
+            return i + 1;
+        }
+        if (i + 3 <= end && (c | 0x20) == 'i' && (s.charAt(i + 1) | 0x20) == 'n' && (s.charAt(i + 2) | 0x20) == 'r') {
+            return i + 3;
+        }
+        if (i + 2 <= end && (c | 0x20) == 'r' && (s.charAt(i + 1) | 0x20) == 's') {
+            return i + 2 < end && s.charAt(i + 2) == '.' ? i + 3 : i + 2;
+        }
+        return i;
+    }
+
+    private static int skipSpaces(CharSequence s, int i, int end) {
+        while (i < end && (s.charAt(i) == ' ' || s.charAt(i) == '\t' || s.charAt(i) == ' ')) i++;
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
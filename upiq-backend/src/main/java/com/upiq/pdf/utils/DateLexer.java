@@ -0,0 +1,371 @@
+package com.upiq.pdf.utils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hand-written, single-pass lexer for every date layout the parsers accept:
+ * <ul>
+ *     <li>{@code d/M/yyyy}, {@code d-M-yy}, {@code d.M.yyyy} (separators may be mixed and space-padded)</li>
+ *     <li>{@code M/d/yyyy} when the first field cannot be a day-of-month pairing</li>
+ *     <li>{@code yyyy-MM-dd}, {@code yyyy/MM/dd}, optionally followed by {@code T}/space and {@code HH:mm[:ss[.SSS]]}</li>
+ *     <li>{@code d MMM yyyy}, {@code d MMMM, yy}, {@code dd-MMM-yyyy} (month names in any case)</li>
+ *     <li>{@code MMM d, yyyy} (UPI app statements); only {@link #parse} accepts it, {@link #find}
+ *     still requires a date to start with a digit</li>
+ * </ul>
+ * Failure paths do not allocate and never throw; only a successful match creates a
+ * {@link LocalDateTime}. Ambiguous numeric dates always resolve day-first, so results
+ * do not depend on the {@link FormatHint}; the hint only decides which grammar is tried
+ * first once a file has shown which layout it uses.
+ */
+public final class DateLexer {
+
+    public enum Format {
+        DAY_MONTH_YEAR,
+        YEAR_MONTH_DAY,
+        DAY_MONTH_NAME_YEAR,
+        MONTH_NAME_DAY_YEAR
+    }
+
+    /**
+     * Per-file memo of the last winning {@link Format}. Not thread-safe: use one
+     * instance per file (or per worker when a file is parsed in parallel).
+     */
+    public static final class FormatHint {
+
+        private Format format;
+
+        public Format getFormat() {
+            return format;
+        }
+    }
+
+    private static final long FAIL = -1L;
+
+    private static final String[] MONTHS = {
+            "january", "february", "march", "april", "may", "june",
+            "july", "august", "september", "october", "november", "december"
+    };
+
+    private static final Format[] FORMATS = Format.values();
+
+    private DateLexer() {
+    }
+
+    /**
+     * Parses {@code text} as a single date (surrounding whitespace ignored).
+     *
+     * @return the parsed date, or {@code null} if the whole text is not a date
+     */
+    public static LocalDateTime parse(CharSequence text, FormatHint hint) {
+        if (text == null) {
+            return null;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && isSpace(text.charAt(start))) start++;
+        while (end > start && isSpace(text.charAt(end - 1))) end--;
+        if (start == end || !(isDigit(text.charAt(start)) || isAsciiLetter(text.charAt(start)))) {
+            return null;
+        }
+        return toDateTime(lexAt(text, start, end, true, hint), hint);
+    }
+
+    /**
+     * Finds the first word-bounded date anywhere in {@code text}.
+     *
+     * @return the first date found, or {@code null} if there is none
+     */
+    public static LocalDateTime find(CharSequence text, FormatHint hint) {
+        if (text == null) {
+            return null;
+        }
+        int end = text.length();
+        for (int i = 0; i < end; i++) {
+            if (!isDigit(text.charAt(i)) || (i > 0 && isWordChar(text.charAt(i - 1)))) {
+                continue;
+            }
+            long packed = lexAt(text, i, end, false, hint);
+            if (packed != FAIL) {
+                return toDateTime(packed, hint);
+            }
+            // Skip the rest of this digit run: a date can only start on a word boundary.
+            while (i + 1 < end && isDigit(text.charAt(i + 1))) i++;
+        }
+        return null;
+    }
+
+    private static long lexAt(CharSequence s, int i, int end, boolean exact, FormatHint hint) {
+        Format preferred = hint != null ? hint.format : null;
+        if (preferred != null) {
+            long packed = lex(preferred, s, i, end, exact);
+            if (packed != FAIL) {
+                return packed;
+            }
+        }
+        for (Format format : FORMATS) {
+            if (format != preferred) {
+                long packed = lex(format, s, i, end, exact);
+                if (packed != FAIL) {
+                    return packed;
+                }
+            }
+        }
+        return FAIL;
+    }
+
+    private static long lex(Format format, CharSequence s, int i, int end, boolean exact) {
+        return switch (format) {
+            case DAY_MONTH_YEAR -> lexNumericDayFirst(s, i, end, exact);
+            case YEAR_MONTH_DAY -> lexNumericYearFirst(s, i, end, exact);
+            case DAY_MONTH_NAME_YEAR -> lexMonthName(s, i, end, exact);
+            case MONTH_NAME_DAY_YEAR -> lexMonthNameFirst(s, i, end, exact);
+        };
+    }
+
+    // d/M/yyyy, d-M-yy, d.M.yyyy; falls back to M/d/yyyy when day-first is impossible
+    private static long lexNumericDayFirst(CharSequence s, int i, int end, boolean exact) {
+        int len = digitRun(s, i, end);
+        if (len < 1 || len > 2) return FAIL;
+        int first = number(s, i, len);
+        i = skipSeparator(s, i + len, end);
+        if (i < 0) return FAIL;
+
+        len = digitRun(s, i, end);
+        if (len < 1 || len > 2) return FAIL;
+        int second = number(s, i, len);
+        i = skipSeparator(s, i + len, end);
+        if (i < 0) return FAIL;
+
+        len = digitRun(s, i, end);
+        if (len != 2 && len != 4) return FAIL;
+        int year = number(s, i, len);
+        if (len == 2) year += 2000;
+        i += len;
+
+        long time = lexTail(s, i, end, exact);
+        if (time == FAIL) return FAIL;
+        if (isValidDate(year, second, first)) {
+            return pack(year, second, first, time, Format.DAY_MONTH_YEAR);
+        }
+        if (isValidDate(year, first, second)) {
+            return pack(year, first, second, time, Format.DAY_MONTH_YEAR);
+        }
+        return FAIL;
+    }
+
+    // yyyy-MM-dd, yyyy/MM/dd, yyyy.MM.dd
+    private static long lexNumericYearFirst(CharSequence s, int i, int end, boolean exact) {
+        int len = digitRun(s, i, end);
+        if (len != 4) return FAIL;
+        int year = number(s, i, len);
+        i = skipSeparator(s, i + len, end);
+        if (i < 0) return FAIL;
+
+        len = digitRun(s, i, end);
+        if (len < 1 || len > 2) return FAIL;
+        int month = number(s, i, len);
+        i = skipSeparator(s, i + len, end);
+        if (i < 0) return FAIL;
+
+        len = digitRun(s, i, end);
+        if (len < 1 || len > 2) return FAIL;
+        int day = number(s, i, len);
+        i += len;
+
+        long time = lexTail(s, i, end, exact);
+        if (time == FAIL || !isValidDate(year, month, day)) return FAIL;
+        return pack(year, month, day, time, Format.YEAR_MONTH_DAY);
+    }
+
+    // d MMM yyyy, dd MMMM, yy, dd-MMM-yyyy
+    private static long lexMonthName(CharSequence s, int i, int end, boolean exact) {
+        int len = digitRun(s, i, end);
+        if (len < 1 || len > 2) return FAIL;
+        int day = number(s, i, len);
+        i += len;
+
+        int gap = i;
+        while (i < end && (isSpace(s.charAt(i)) || s.charAt(i) == '-' || s.charAt(i) == '.')) i++;
+        if (i == gap) return FAIL;
+
+        int letters = 0;
+        while (i + letters < end && isAsciiLetter(s.charAt(i + letters))) letters++;
+        int month = monthOf(s, i, letters);
+        if (month == 0) return FAIL;
+        i += letters;
+
+        gap = i;
+        while (i < end && (isSpace(s.charAt(i)) || s.charAt(i) == ',' || s.charAt(i) == '-'
+                || s.charAt(i) == '.')) i++;
+        if (i == gap) return FAIL;
+
+        len = digitRun(s, i, end);
+        if (len != 2 && len != 4) return FAIL;
+        int year = number(s, i, len);
+        if (len == 2) year += 2000;
+        i += len;
+
+        long time = lexTail(s, i, end, exact);
+        if (time == FAIL || !isValidDate(year, month, day)) return FAIL;
+        return pack(year, month, day, time, Format.DAY_MONTH_NAME_YEAR);
+    }
+
+    // MMM d, yyyy, MMMM dd yyyy
+    private static long lexMonthNameFirst(CharSequence s, int i, int end, boolean exact) {
+        int letters = 0;
+        while (i + letters < end && isAsciiLetter(s.charAt(i + letters))) letters++;
+        int month = monthOf(s, i, letters);
+        if (month == 0) return FAIL;
+        i += letters;
+
+        int gap = i;
+        while (i < end && (isSpace(s.charAt(i)) || s.charAt(i) == '-' || s.charAt(i) == '.')) i++;
+        if (i == gap) return FAIL;
+
+        int len = digitRun(s, i, end);
+        if (len < 1 || len > 2) return FAIL;
+        int day = number(s, i, len);
+        i += len;
+
+        gap = i;
+        while (i < end && (isSpace(s.charAt(i)) || s.charAt(i) == ',')) i++;
+        if (i == gap) return FAIL;
+
+        len = digitRun(s, i, end);
+        if (len != 4) return FAIL;
+        int year = number(s, i, len);
+        i += len;
+
+        long time = lexTail(s, i, end, exact);
+        if (time == FAIL || !isValidDate(year, month, day)) return FAIL;
+        return pack(year, month, day, time, Format.MONTH_NAME_DAY_YEAR);
+    }
+
+    /**
+     * In exact mode accepts an optional {@code T|' ' HH:mm[:ss[.fraction]]} and then
+     * requires the end of input; in find mode only requires a word boundary.
+     * Returns the packed time of day, or {@link #FAIL}.
+     */
+    private static long lexTail(CharSequence s, int i, int end, boolean exact) {
+        if (!exact) {
+            return i < end && isWordChar(s.charAt(i)) ? FAIL : 0L;
+        }
+        if (i == end) {
+            return 0L;
+        }
+        char c = s.charAt(i);
+        if (c != 'T' && c != ' ') return FAIL;
+        i++;
+
+        if (digitRun(s, i, end) != 2) return FAIL;
+        int hour = number(s, i, 2);
+        i += 2;
+        if (i >= end || s.charAt(i) != ':' || digitRun(s, i + 1, end) != 2) return FAIL;
+        int minute = number(s, i + 1, 2);
+        i += 3;
+        int second = 0;
+        if (i < end && s.charAt(i) == ':') {
+            if (digitRun(s, i + 1, end) != 2) return FAIL;
+            second = number(s, i + 1, 2);
+            i += 3;
+            if (i < end && s.charAt(i) == '.') {
+                int fraction = digitRun(s, i + 1, end);
+                if (fraction < 1 || fraction > 9) return FAIL;
+                i += 1 + fraction;
+            }
+        }
+        if (i != end || hour > 23 || minute > 59 || second > 59) return FAIL;
+        return ((long) hour << 12) | ((long) minute << 6) | second;
+    }
+
+    /** Skips {@code \s* [/.-] \s*}; returns the next index or -1. */
+    private static int skipSeparator(CharSequence s, int i, int end) {
+        while (i < end && isSpace(s.charAt(i))) i++;
+        if (i >= end) return -1;
+        char c = s.charAt(i);
+        if (c != '/' && c != '-' && c != '.') return -1;
+        i++;
+        while (i < end && isSpace(s.charAt(i))) i++;
+        return i;
+    }
+
+    /** Three-letter abbreviation, "sept", or any longer prefix of the full month name. */
+    private static int monthOf(CharSequence s, int i, int letters) {
+        if (letters < 3) return 0;
+        for (int m = 0; m < MONTHS.length; m++) {
+            if (letters <= MONTHS[m].length() && regionMatches(s, i, MONTHS[m], letters)) {
+                return m + 1;
+            }
+        }
+        return letters == 4 && regionMatches(s, i, "sept", 4) ? 9 : 0;
+    }
+
+    private static boolean regionMatches(CharSequence s, int i, String lowerName, int len) {
+        for (int k = 0; k < len; k++) {
+            if ((s.charAt(i + k) | 0x20) != lowerName.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    private static int digitRun(CharSequence s, int i, int end) {
+        int j = i;
+        while (j < end && j - i < 5 && isDigit(s.charAt(j))) j++;
+        return j - i;
+    }
+
+    private static int number(CharSequence s, int i, int len) {
+        int value = 0;
+        for (int k = 0; k < len; k++) {
+            value = value * 10 + (s.charAt(i + k) - '0');
+        }
+        return value;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) return false;
+        int max = switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return day <= max;
+    }
+
+    // time (17 bits) | day << 17 | month << 22 | year << 26 | format << 40
+    private static long pack(int year, int month, int day, long time, Format format) {
+        return time | ((long) day << 17) | ((long) month << 22) | ((long) year << 26)
+                | ((long) format.ordinal() << 40);
+    }
+
+    private static LocalDateTime toDateTime(long packed, FormatHint hint) {
+        if (packed == FAIL) {
+            return null;
+        }
+        if (hint != null) {
+            hint.format = FORMATS[(int) (packed >>> 40)];
+        }
+        return LocalDateTime.of(
+                (int) ((packed >>> 26) & 0x3FFF),
+                (int) ((packed >>> 22) & 0xF),
+                (int) ((packed >>> 17) & 0x1F),
+                (int) ((packed >>> 12) & 0x1F),
+                (int) ((packed >>> 6) & 0x3F),
+                (int) (packed & 0x3F));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == ' ' || c == '\r' || c == '\n';
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,163 @@
+package com.upiq.pdf.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Case-insensitive Aho-Corasick matcher over a fixed set of ASCII keywords.
+ *
+ * Every keyword carries a bit mask of the keyword classes it belongs to. A single
+ * pass over the input returns the OR of the masks of all keywords that occur in it,
+ * i.e. the same answer as calling {@code text.toLowerCase().contains(k)} for every
+ * keyword, in O(length) instead of O(keywords x length).
+ *
+ * The automaton is compiled to a dense DFA, so scanning is one table lookup per char.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class KeywordAutomaton {
+
+    private static final int ASCII = 128;
+    private static final int OTHER = 0; // symbol for chars that appear in no keyword
+
+    private final int[] symbols;       // ASCII char -> dense symbol, both cases folded
+    private final int alphabetSize;
+    private final int[] transitions;   // state * alphabetSize + symbol -> next state
+    private final long[] outputs;      // state -> classes of every keyword ending here
+
+    private KeywordAutomaton(int[] symbols, int alphabetSize, int[] transitions, long[] outputs) {
+        this.symbols = symbols;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long scan(CharSequence text) {
+        return text == null ? 0L : scan(text, 0, text.length());
+    }
+
+    public long scan(CharSequence text, int start, int end) {
+        int state = 0;
+        long matched = 0L;
+        for (int i = start; i < end; i++) {
+            state = transitions[state * alphabetSize + symbolOf(text.charAt(i))];
+            matched |= outputs[state];
+        }
+        return matched;
+    }
+
+    private int symbolOf(char c) {
+        if (c < ASCII) {
+            return symbols[c];
+        }
+        char lower = Character.toLowerCase(c);
+        return lower < ASCII ? symbols[lower] : OTHER;
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Long> keywords = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(long classMask, String... words) {
+            for (String word : words) {
+                if (word == null || word.isEmpty()) {
+                    throw new IllegalArgumentException("Keyword must not be empty");
+                }
+                for (int i = 0; i < word.length(); i++) {
+                    if (word.charAt(i) >= ASCII) {
+                        throw new IllegalArgumentException("Only ASCII keywords are supported: " + word);
+                    }
+                }
+                keywords.merge(word.toLowerCase(), classMask, (a, b) -> a | b);
+            }
+            return this;
+        }
+
+        public KeywordAutomaton build() {
+            // Dense alphabet: one symbol per distinct keyword char, upper/lower case folded.
+            int[] symbols = new int[ASCII];
+            int alphabetSize = 1;
+            for (String word : keywords.keySet()) {
+                for (int i = 0; i < word.length(); i++) {
+                    char c = word.charAt(i);
+                    if (symbols[c] == OTHER) {
+                        symbols[c] = alphabetSize;
+                        symbols[Character.toUpperCase(c)] = alphabetSize;
+                        alphabetSize++;
+                    }
+                }
+            }
+
+            // 1. Trie
+            List<int[]> trie = new ArrayList<>();
+            List<Long> out = new ArrayList<>();
+            trie.add(newRow(alphabetSize));
+            out.add(0L);
+            for (Map.Entry<String, Long> entry : keywords.entrySet()) {
+                int state = 0;
+                String word = entry.getKey();
+                for (int i = 0; i < word.length(); i++) {
+                    int symbol = symbols[word.charAt(i)];
+                    if (trie.get(state)[symbol] < 0) {
+                        trie.get(state)[symbol] = trie.size();
+                        trie.add(newRow(alphabetSize));
+                        out.add(0L);
+                    }
+                    state = trie.get(state)[symbol];
+                }
+                out.set(state, out.get(state) | entry.getValue());
+            }
+
+            // 2. Failure links in BFS order, folded straight into a complete DFA
+            int stateCount = trie.size();
+            int[] transitions = new int[stateCount * alphabetSize];
+            long[] outputs = new long[stateCount];
+            int[] fail = new int[stateCount];
+            Queue<Integer> queue = new ArrayDeque<>();
+
+            outputs[0] = out.get(0);
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = trie.get(0)[symbol];
+                if (next < 0) {
+                    transitions[symbol] = 0;
+                } else {
+                    transitions[symbol] = next;
+                    fail[next] = 0;
+                    queue.add(next);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                outputs[state] = out.get(state) | outputs[fail[state]];
+                for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                    int next = trie.get(state)[symbol];
+                    if (next < 0) {
+                        transitions[state * alphabetSize + symbol] = transitions[fail[state] * alphabetSize + symbol];
+                    } else {
+                        transitions[state * alphabetSize + symbol] = next;
+                        fail[next] = transitions[fail[state] * alphabetSize + symbol];
+                        queue.add(next);
+                    }
+                }
+            }
+            return new KeywordAutomaton(symbols, alphabetSize, transitions, outputs);
+        }
+
+        private static int[] newRow(int alphabetSize) {
+            int[] row = new int[alphabetSize];
+            Arrays.fill(row, -1);
+            return row;
+        }
+    }
+}
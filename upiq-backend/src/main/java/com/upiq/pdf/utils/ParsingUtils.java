@@ -1,58 +1,34 @@
 package com.upiq.pdf.utils;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.List;
 
 @Slf4j
 public class ParsingUtils {
 
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yy"),
-            DateTimeFormatter.ofPattern("dd-MM-yy"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-            DateTimeFormatter.ofPattern("dd MMM yyyy"),
-            DateTimeFormatter.ofPattern("dd MMMM yyyy"),
-            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
-            DateTimeFormatter.ofPattern("dd.MM.yyyy")
-    );
-
     public static LocalDateTime parseDate(String text) {
+        return parseDate(text, null);
+    }
+
+    /**
+     * Parses a standalone date cell. {@code hint} may be shared across the rows of one
+     * file so later rows try the format that matched first.
+     */
+    public static LocalDateTime parseDate(String text, DateLexer.FormatHint hint) {
         if (text == null || text.trim().isEmpty()) {
             return LocalDateTime.now();
         }
 
-        String cleaned = text.trim();
-
-        // Try each formatter
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                LocalDate date = LocalDate.parse(cleaned, formatter);
-                return date.atStartOfDay();
-            } catch (DateTimeParseException e) {
-                // Try next formatter
-            }
-        }
-
-        // Try parsing with time
-        try {
-            return LocalDateTime.parse(cleaned, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        } catch (DateTimeParseException e) {
-            // Ignore
-        }
-
-        try {
-            return LocalDateTime.parse(cleaned, DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (DateTimeParseException e) {
-            // Ignore
+        LocalDateTime date = DateLexer.parse(text, hint);
+        if (date != null) {
+            return date;
         }
 
         log.debug("Could not parse date: {}, using current date", text);
@@ -62,5 +38,30 @@ public class ParsingUtils {
     public static boolean isValidAmount(Double amount) {
         return amount != null && amount > 0;
     }
-}
 
+    /**
+     * Copies an upload to a temp file so it can be read with random access instead
+     * of being buffered on the heap. Callers own the returned file and must delete it.
+     */
+    public static Path spoolToTempFile(MultipartFile file, String suffix) throws IOException {
+        Path tempFile = Files.createTempFile("upiq-upload-", suffix);
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return tempFile;
+        } catch (IOException e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+    }
+
+    public static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temp file {}: {}", path, e.getMessage());
+        }
+    }
+}
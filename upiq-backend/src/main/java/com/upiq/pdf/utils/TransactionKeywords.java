@@ -0,0 +1,90 @@
+package com.upiq.pdf.utils;
+
+/**
+ * Every keyword set used to segment statement text and classify transactions,
+ * compiled once into a single {@link KeywordAutomaton}.
+ *
+ * Callers scan a line or block once with {@link #scan(CharSequence)} and test the
+ * returned bitset with {@link KeywordClass#in(long)} instead of running their own
+ * {@code toLowerCase().contains(..)} chains.
+ */
+public final class TransactionKeywords {
+
+    public enum KeywordClass {
+        /** Line opens a new transaction block in a PDF statement. */
+        BLOCK_START,
+        /** "debited" opens a block unless it is part of "debited from". */
+        DEBITED,
+        DEBITED_FROM,
+        /** Statement boilerplate lines dropped before segmentation. */
+        IGNORED_LINE,
+        /** Summary rows such as "Paid to and Received from and ...". */
+        SUMMARY_PAID_TO,
+        SUMMARY_RECEIVED_FROM,
+        CASH,
+        /** Direction keywords for PDF statement blocks. */
+        STATEMENT_CREDIT,
+        STATEMENT_DEBIT,
+        /** Direction keywords for free-text type columns and descriptions. */
+        TYPE_CREDIT,
+        TYPE_DEBIT,
+        /** Direction keywords for multi-line mapped blocks. */
+        BLOCK_CREDIT,
+        BLOCK_DEBIT,
+        UPI,
+        CARD,
+        NET_BANKING,
+        /** Reference/identifier labels whose numbers must not be read as amounts. */
+        IDENTIFIER;
+
+        private final long mask = 1L << ordinal();
+
+        public long mask() {
+            return mask;
+        }
+
+        public boolean in(long matched) {
+            return (matched & mask) != 0;
+        }
+    }
+
+    private static final KeywordAutomaton AUTOMATON = KeywordAutomaton.builder()
+            .add(KeywordClass.BLOCK_START.mask(),
+                    "paid to", "received from", "credited to", "sent to", "purchase", "payment to")
+            .add(KeywordClass.DEBITED.mask(), "debited")
+            .add(KeywordClass.DEBITED_FROM.mask(), "debited from")
+            .add(KeywordClass.IGNORED_LINE.mask(),
+                    "opening balance", "closing balance", "date & time", "page", "statement")
+            .add(KeywordClass.SUMMARY_PAID_TO.mask(), "paid to and")
+            .add(KeywordClass.SUMMARY_RECEIVED_FROM.mask(), "received from and")
+            .add(KeywordClass.CASH.mask(), "cash")
+            .add(KeywordClass.STATEMENT_CREDIT.mask(),
+                    "received from", "credited", "refund", "cashback", "paid to you")
+            .add(KeywordClass.STATEMENT_DEBIT.mask(),
+                    "paid to", "debited", "sent to", "purchase", "payment to")
+            .add(KeywordClass.TYPE_CREDIT.mask(),
+                    "credit", "cr", "deposit", "income", "salary", "refund",
+                    "paid to you", "received from", "sent to your bank", "to your bank")
+            .add(KeywordClass.TYPE_DEBIT.mask(),
+                    "debit", "dr", "withdrawal", "payment", "paid to")
+            .add(KeywordClass.BLOCK_CREDIT.mask(),
+                    "received from", "added to", "credited", "refund", "refunded",
+                    "cashback", "paid to you", "sent to your bank", "to your bank",
+                    "received in bank")
+            .add(KeywordClass.BLOCK_DEBIT.mask(),
+                    "paid to", "debited from", "sent to", "payment to", "merchant payment")
+            .add(KeywordClass.UPI.mask(), "upi", "unified payment", "gpay", "google pay")
+            .add(KeywordClass.CARD.mask(), "card", "visa", "mastercard", "debit card", "credit card")
+            .add(KeywordClass.NET_BANKING.mask(), "net banking", "neft", "rtgs", "imps")
+            .add(KeywordClass.IDENTIFIER.mask(),
+                    "transaction id", "upi txn", "upi transaction id", "utr",
+                    "reference no", "ref no", "reference id", "upi reference", "order id")
+            .build();
+
+    private TransactionKeywords() {
+    }
+
+    public static long scan(CharSequence text) {
+        return AUTOMATON.scan(text);
+    }
+}
@@ -2,16 +2,41 @@ package com.upiq.transaction.controller;
 
 import com.upiq.auth.model.User;
 import com.upiq.config.ApiResponse;
+import com.upiq.config.UserCacheStats;
+import com.upiq.config.UserDataCache;
+import com.upiq.transaction.dto.BulkDeleteResponse;
+import com.upiq.transaction.dto.BulkIngestResponse;
+import com.upiq.transaction.dto.CategoryBreakdownResponse;
 import com.upiq.transaction.dto.CreateTransactionRequest;
+import com.upiq.transaction.dto.ExportFormat;
+import com.upiq.transaction.dto.ImportTransactionsRequest;
+import com.upiq.transaction.dto.ImportTransactionsResponse;
+import com.upiq.transaction.dto.SummaryGranularity;
+import com.upiq.transaction.dto.TransactionChangesResponse;
+import com.upiq.transaction.dto.TransactionFilter;
+import com.upiq.transaction.dto.TransactionPageResponse;
 import com.upiq.transaction.dto.TransactionResponse;
+import com.upiq.transaction.dto.TransactionSummaryResponse;
+import com.upiq.transaction.service.TransactionAnalyticsService;
+import com.upiq.transaction.service.TransactionBulkIngestService;
+import com.upiq.transaction.service.TransactionExportService;
+import com.upiq.transaction.service.TransactionImportService;
 import com.upiq.transaction.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,6 +45,11 @@ import java.util.List;
 public class TransactionController {
 
         private final TransactionService service;
+        private final TransactionImportService importService;
+        private final TransactionBulkIngestService bulkIngestService;
+        private final TransactionAnalyticsService analyticsService;
+        private final UserDataCache userDataCache;
+        private final TransactionExportService exportService;
 
         // ------------------- ADD TRANSACTION -------------------
         @PostMapping
@@ -35,16 +65,86 @@ public class TransactionController {
                 return ResponseEntity.status(HttpStatus.CREATED).body(response);
         }
 
+        // ------------------- IMPORT TRANSACTIONS (BULK) -------------------
+        @PostMapping("/import")
+        public ResponseEntity<ApiResponse<ImportTransactionsResponse>> importTransactions(
+                        @RequestBody ImportTransactionsRequest request,
+                        @AuthenticationPrincipal User user) {
+                ImportTransactionsResponse result = importService.importTransactions(request, user.getId());
+                ApiResponse<ImportTransactionsResponse> response = ApiResponse.<ImportTransactionsResponse>builder()
+                                .success(true)
+                                .data(result)
+                                .message(String.format("Imported %d of %d transactions",
+                                                result.getCreated(), result.getRequested()))
+                                .build();
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+
+        // ------------------- BULK INGEST CSV (COPY) -------------------
+        @PostMapping(value = "/bulk-ingest", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<ApiResponse<BulkIngestResponse>> bulkIngest(
+                        @RequestParam("file") MultipartFile file,
+                        @AuthenticationPrincipal User user) {
+                BulkIngestResponse result = bulkIngestService.ingestCsv(file, user.getId());
+                ApiResponse<BulkIngestResponse> response = ApiResponse.<BulkIngestResponse>builder()
+                                .success(true)
+                                .data(result)
+                                .message(String.format("Ingested %d transactions", result.getRowsIngested()))
+                                .build();
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+
         // ------------------- GET ALL USER TRANSACTIONS -------------------
+        // The ETag is the user's change sequence plus category version (listings carry category
+        // names), so an unchanged ledger is a 304 without loading it
         @GetMapping
         public ResponseEntity<ApiResponse<List<TransactionResponse>>> getUserTransactions(
-                        @AuthenticationPrincipal User user) {
+                        @AuthenticationPrincipal User user,
+                        WebRequest webRequest) {
+                String eTag = "\"" + user.getId() + "-" + service.getCurrentChangeSeq(user.getId())
+                                + "-" + service.getCategoryVersion(user.getId()) + "\"";
+                if (webRequest.checkNotModified(eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                }
                 List<TransactionResponse> transactions = service.getUserTransactions(user.getId());
                 ApiResponse<List<TransactionResponse>> response = ApiResponse.<List<TransactionResponse>>builder()
                                 .success(true)
                                 .data(transactions)
                                 .message("Transactions retrieved successfully")
                                 .build();
+                return ResponseEntity.ok()
+                                .eTag(eTag)
+                                .cacheControl(CacheControl.noCache().cachePrivate())
+                                .body(response);
+        }
+
+        // ------------------- CHANGES SINCE (DELTA SYNC) -------------------
+        @GetMapping("/changes")
+        public ResponseEntity<ApiResponse<TransactionChangesResponse>> getChanges(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(defaultValue = "0") long since,
+                        @RequestParam(required = false) Integer limit) {
+                TransactionChangesResponse changes = service.getChanges(user.getId(), since, limit);
+                ApiResponse<TransactionChangesResponse> response = ApiResponse.<TransactionChangesResponse>builder()
+                                .success(true)
+                                .data(changes)
+                                .message("Changes retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
+        // ------------------- GET USER TRANSACTIONS (KEYSET PAGE) -------------------
+        @GetMapping("/page")
+        public ResponseEntity<ApiResponse<TransactionPageResponse>> getUserTransactionsPage(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size) {
+                TransactionPageResponse page = service.getUserTransactionsPage(user.getId(), cursor, size);
+                ApiResponse<TransactionPageResponse> response = ApiResponse.<TransactionPageResponse>builder()
+                                .success(true)
+                                .data(page)
+                                .message("Transactions retrieved successfully")
+                                .build();
                 return ResponseEntity.ok(response);
         }
 
@@ -62,6 +162,79 @@ public class TransactionController {
                 return ResponseEntity.ok(response);
         }
 
+        // ------------------- QUERY USER TRANSACTIONS (FILTERED) -------------------
+        @PostMapping("/query")
+        public ResponseEntity<ApiResponse<List<TransactionResponse>>> queryTransactions(
+                        @AuthenticationPrincipal User user,
+                        @RequestBody(required = false) TransactionFilter filter) {
+                List<TransactionResponse> transactions = service.queryTransactions(user.getId(), filter);
+                ApiResponse<List<TransactionResponse>> response = ApiResponse.<List<TransactionResponse>>builder()
+                                .success(true)
+                                .data(transactions)
+                                .message("Transactions retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
+        // ------------------- SUMMARY (KPIs + TIME SERIES) -------------------
+        @GetMapping("/summary")
+        public ResponseEntity<ApiResponse<TransactionSummaryResponse>> getSummary(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(required = false) String granularity) {
+                TransactionSummaryResponse summary = analyticsService.getSummary(user.getId(), from, to,
+                                SummaryGranularity.from(granularity));
+                ApiResponse<TransactionSummaryResponse> response = ApiResponse.<TransactionSummaryResponse>builder()
+                                .success(true)
+                                .data(summary)
+                                .message("Summary retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
+        // ------------------- CATEGORY BREAKDOWN -------------------
+        @GetMapping("/breakdown")
+        public ResponseEntity<ApiResponse<CategoryBreakdownResponse>> getBreakdown(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(required = false) String type) {
+                CategoryBreakdownResponse breakdown = analyticsService.getBreakdown(user.getId(), from, to, type);
+                ApiResponse<CategoryBreakdownResponse> response = ApiResponse.<CategoryBreakdownResponse>builder()
+                                .success(true)
+                                .data(breakdown)
+                                .message("Breakdown retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
+        // ------------------- EXPORT (STREAMED) -------------------
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> export(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(required = false) String format) {
+                ExportFormat exportFormat = ExportFormat.from(format);
+                Long userId = user.getId();
+                StreamingResponseBody body = out -> exportService.export(userId, exportFormat, out);
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"transactions." + exportFormat.extension() + "\"")
+                                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                                .body(body);
+        }
+
+        // ------------------- USER DATA CACHE STATS -------------------
+        @GetMapping("/cache/stats")
+        public ResponseEntity<ApiResponse<UserCacheStats>> cacheStats() {
+                ApiResponse<UserCacheStats> response = ApiResponse.<UserCacheStats>builder()
+                                .success(true)
+                                .data(userDataCache.stats())
+                                .message("Cache statistics retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
         // ------------------- GET TRANSACTION BY ID -------------------
         @GetMapping("/{id}")
         public ResponseEntity<ApiResponse<TransactionResponse>> getById(@PathVariable Long id,
@@ -97,6 +270,23 @@ public class TransactionController {
                 return ResponseEntity.ok(response);
         }
 
+        // ------------------- BULK DELETE (FILTERED) -------------------
+        @DeleteMapping("/bulk")
+        public ResponseEntity<ApiResponse<BulkDeleteResponse>> deleteTransactions(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(required = false) String category,
+                        @RequestParam(required = false) String importBatchId) {
+                BulkDeleteResponse result = service.deleteTransactions(user.getId(), from, to, category, importBatchId);
+                ApiResponse<BulkDeleteResponse> response = ApiResponse.<BulkDeleteResponse>builder()
+                                .success(true)
+                                .data(result)
+                                .message(String.format("Deleted %d transactions", result.getDeleted()))
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
         // ------------------- DELETE ALL TRANSACTIONS -------------------
         @DeleteMapping
         public ResponseEntity<ApiResponse<String>> deleteAllTransactions(@AuthenticationPrincipal User user) {
@@ -0,0 +1,17 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestResponse {
+    private String importBatchId;
+    private long rowsIngested;
+    private int batchesCommitted;
+    private long durationMs;
+}
@@ -0,0 +1,19 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryBreakdownResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private List<CategoryTotal> categories;   // largest total first
+}
@@ -0,0 +1,17 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTotal {
+    private String category;
+    private String type;
+    private double total;
+    private long count;
+}
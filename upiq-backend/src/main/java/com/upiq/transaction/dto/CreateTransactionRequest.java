@@ -1,5 +1,8 @@
 package com.upiq.transaction.dto;
 
+import com.upiq.transaction.utils.MoneyUtils;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -13,6 +16,8 @@ import lombok.NoArgsConstructor;
 public class CreateTransactionRequest {
 
     @NotNull(message = "Amount is required")
+    @DecimalMin(value = "-" + MoneyUtils.MAX_RUPEES, message = MoneyUtils.AMOUNT_RANGE_MESSAGE)
+    @DecimalMax(value = MoneyUtils.MAX_RUPEES, message = MoneyUtils.AMOUNT_RANGE_MESSAGE)
     private Double amount;
 
     @NotBlank(message = "Type is required")
@@ -0,0 +1,23 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowResult {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;          // position in the submitted list
+    private Status status;
+    private Long id;            // set when CREATED
+    private String error;       // set when FAILED
+}
@@ -0,0 +1,21 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Either the (possibly user-edited) rows to import, or the id of a finished parse
+ * job whose result should be imported as-is.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportTransactionsRequest {
+
+    private List<CreateTransactionRequest> transactions;
+
+    private String uploadId;
+}
@@ -0,0 +1,20 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportTransactionsResponse {
+    private String importBatchId;   // pass to DELETE /api/transactions/bulk to undo the import
+    private int requested;
+    private int created;
+    private int failed;
+    private List<ImportRowResult> results;
+}
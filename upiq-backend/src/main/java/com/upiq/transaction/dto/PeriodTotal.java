@@ -0,0 +1,19 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodTotal {
+    private LocalDate periodStart;   // first day of the day/week/month bucket
+    private double income;
+    private double expense;
+    private long count;
+}
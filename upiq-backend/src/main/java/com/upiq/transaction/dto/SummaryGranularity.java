@@ -0,0 +1,31 @@
+package com.upiq.transaction.dto;
+
+import java.util.Locale;
+
+/** Time bucket size for summary series; {@link #unit()} is the Postgres date_trunc field. */
+public enum SummaryGranularity {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String unit;
+
+    SummaryGranularity(String unit) {
+        this.unit = unit;
+    }
+
+    public String unit() {
+        return unit;
+    }
+
+    public static SummaryGranularity from(String value) {
+        if (value == null || value.isBlank()) {
+            return MONTH;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Granularity must be one of day, week, month");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionChangesResponse {
+    private long since;
+    private long nextSince;            // pass back as ?since= on the next call
+    private boolean hasMore;           // more changes are waiting; call again right away
+    private boolean resyncRequired;    // since predates purged tombstones; reload the full list
+    private long categoryVersion;      // changed since the last call: reload /api/categories
+    // categoryId only; names come from the category list so renames need no row changes
+    private List<TransactionResponse> upserts;
+    private List<Long> deletedIds;
+}
@@ -0,0 +1,34 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Server-side filter for a user's transactions. Every field is optional; unset fields
+ * don't constrain the query. Dates are inclusive, string matches are case-insensitive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFilter {
+
+    private LocalDate dateFrom;
+
+    private LocalDate dateTo;
+
+    private String type;                 // income / expense
+
+    private List<String> categories;
+
+    private List<String> paymentMethods;
+
+    private Double minAmount;
+
+    private Double maxAmount;
+
+    private String descriptionContains;
+}
@@ -16,9 +16,13 @@ public class TransactionResponse {
     private Long userId;
     private Double amount;
     private String type;
+    private Long categoryId;
     private String category;
     private String description;
     private LocalDateTime date;
     private String paymentMethod;
+    private String importBatchId;
+    private LocalDateTime updatedAt;
+    private Long changeSeq;
 }
 
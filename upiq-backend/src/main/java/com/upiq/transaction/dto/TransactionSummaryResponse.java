@@ -0,0 +1,25 @@
+package com.upiq.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSummaryResponse {
+    private LocalDate from;          // null = unbounded
+    private LocalDate to;
+    private SummaryGranularity granularity;
+    private double totalIncome;
+    private double totalExpense;
+    private double balance;
+    private double savingsRate;      // percent of income kept, 0 when there is no income
+    private long transactionCount;
+    private List<PeriodTotal> periods;
+}
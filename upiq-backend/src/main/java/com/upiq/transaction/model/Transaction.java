@@ -13,20 +13,21 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private Long userId;             // user making the transaction
 
-    @Column(nullable = false)
-    private Double amount;
+    @Column(name = "amount_paise", nullable = false)
+    private long amountPaise;        // 1 rupee = 100 paise; the API still speaks rupees
 
     @Column(nullable = false)
     private String type;             // income/expense or credit/debit
 
     @Column(nullable = false)
-    private String category;         // Food, Travel, Bills, etc.
+    private Long categoryId;         // categories.id; the name (Food, Travel, ...) lives there
 
     private String description;
 
@@ -34,5 +35,16 @@ public class Transaction {
     private LocalDateTime date = LocalDateTime.now();
 
     private String paymentMethod;    // UPI, Cash, Card
+
+    @Column(length = 36)
+    private String importBatchId;    // set for rows created by one import / bulk ingest call
+
+    // Stamped by the transactions_stamp_change trigger; single-row writes refresh the entity
+    // to read them back, batched imports leave them stale
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
 }
 
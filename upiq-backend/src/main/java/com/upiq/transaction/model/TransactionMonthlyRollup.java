@@ -0,0 +1,48 @@
+package com.upiq.transaction.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * One row per (user, month, category, type). Written only through native upserts in
+ * {@code TransactionRollupRepository}; mapped so schema validation covers the table.
+ */
+@Entity
+@Table(name = "transaction_monthly_rollup")
+@IdClass(TransactionMonthlyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionMonthlyRollup {
+
+    @Id
+    private Long userId;
+
+    @Id
+    private LocalDate monthStart;
+
+    @Id
+    private Long categoryId;
+
+    @Id
+    private String type;             // lower-cased
+
+    @Column(name = "total_paise", nullable = false)
+    private long totalPaise;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long count;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate monthStart;
+        private Long categoryId;
+        private String type;
+    }
+}
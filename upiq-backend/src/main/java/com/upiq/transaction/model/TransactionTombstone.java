@@ -0,0 +1,27 @@
+package com.upiq.transaction.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Written by the transactions_record_tombstones statement trigger; read by delta sync. */
+@Entity
+@Table(name = "transaction_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionTombstone {
+
+    @Id
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
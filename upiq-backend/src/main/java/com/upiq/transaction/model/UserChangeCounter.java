@@ -0,0 +1,25 @@
+package com.upiq.transaction.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/** Last change sequence number published per user; maintained by the change-tracking triggers (V12). */
+@Entity
+@Table(name = "user_change_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangeCounter {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long lastSeq;
+
+    @Column(nullable = false)
+    private Long purgedSeq;
+
+    @Column(nullable = false)
+    private Long categoryVersion;    // bumped when a category is renamed or deleted
+}
@@ -0,0 +1,29 @@
+package com.upiq.transaction.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projections for the GROUP BY queries in {@link TransactionRepository}. Column aliases
+ * in the native SQL must match the getter names.
+ */
+public final class TransactionAggregates {
+
+    private TransactionAggregates() {
+    }
+
+    public interface TypeTotal {
+        String getType();
+
+        Long getTotal();                 // paise
+
+        Long getCount();
+    }
+
+    public interface PeriodTypeTotal extends TypeTotal {
+        LocalDate getPeriod();
+    }
+
+    public interface CategoryTypeTotal extends TypeTotal {
+        String getCategory();
+    }
+}
@@ -1,17 +1,125 @@
 package com.upiq.transaction.repository;
 
 import com.upiq.transaction.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+        JpaSpecificationExecutor<Transaction> {
 
-    List<Transaction> findByUserIdOrderByDateDesc(Long userId);
+    // Listing reads select TransactionRow directly; the entity join fills in the category name
+    String ROW_SELECT = "SELECT new com.upiq.transaction.repository.TransactionRow("
+            + "t.id, t.userId, t.amountPaise, t.type, t.categoryId, c.name, t.description, t.date, "
+            + "t.paymentMethod, t.importBatchId, t.updatedAt, t.changeSeq) "
+            + "FROM Transaction t JOIN Category c ON c.id = t.categoryId ";
 
-    List<Transaction> findByUserIdAndCategoryIgnoreCase(Long userId, String category);
+    @Query(ROW_SELECT + "WHERE t.userId = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRow> findRowsByUserId(@Param("userId") Long userId);
 
-    void deleteByUserId(Long userId);
+    @Query(ROW_SELECT + "WHERE t.userId = :userId AND t.categoryId = :categoryId "
+            + "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRow> findRowsByUserIdAndCategoryId(@Param("userId") Long userId,
+            @Param("categoryId") Long categoryId);
+
+    long countByUserIdAndCategoryId(Long userId, Long categoryId);
+
+    // Used before a category is deleted; a bulk UPDATE, so the stamp trigger still bumps change_seq per row
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.categoryId = :toCategoryId "
+            + "WHERE t.userId = :userId AND t.categoryId = :fromCategoryId")
+    int reassignCategory(@Param("userId") Long userId, @Param("fromCategoryId") Long fromCategoryId,
+            @Param("toCategoryId") Long toCategoryId);
+
+    // Keyset pagination over (date DESC, id DESC); see idx_transactions_user_date_id
+    @Query(ROW_SELECT + "WHERE t.userId = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRow> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    // The redundant t.date <= :date lets the planner prune later-year partitions,
+    // which it cannot do from the row comparison alone
+    @Query(ROW_SELECT + "WHERE t.userId = :userId AND t.date <= :date AND (t.date, t.id) < (:date, :id) "
+            + "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRow> findPageAfter(@Param("userId") Long userId, @Param("date") LocalDateTime date,
+            @Param("id") Long id, Limit limit);
+
+    @Query(ROW_SELECT + "WHERE t.userId = :userId "
+            + "AND t.changeSeq > :since AND t.changeSeq <= :upTo ORDER BY t.changeSeq")
+    List<TransactionRow> findChanges(@Param("userId") Long userId, @Param("since") long since,
+            @Param("upTo") long upTo, Limit limit);
+
+    // Server-side cursor for exports: Postgres only honours the fetch size inside a transaction,
+    // and read-only entities skip the dirty-checking snapshot.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.date DESC, t.id DESC")
+    Stream<Transaction> streamByUserId(@Param("userId") Long userId);
+
+    // Aggregates over [from, to); type is lower-cased so "Income"/"INCOME" group together
+    @Query(value = "SELECT lower(type) AS type, CAST(SUM(amount_paise) AS BIGINT) AS total, COUNT(*) AS count "
+            + "FROM transactions WHERE user_id = :userId AND date >= :from AND date < :to GROUP BY lower(type)",
+            nativeQuery = true)
+    List<TransactionAggregates.TypeTotal> sumByType(@Param("userId") Long userId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // GROUP BY ordinals because the bound unit makes the two date_trunc(...) expressions differ
+    @Query(value = "SELECT CAST(date_trunc(:unit, date) AS date) AS period, lower(type) AS type, "
+            + "CAST(SUM(amount_paise) AS BIGINT) AS total, COUNT(*) AS count FROM transactions "
+            + "WHERE user_id = :userId AND date >= :from AND date < :to GROUP BY 1, 2 ORDER BY 1",
+            nativeQuery = true)
+    List<TransactionAggregates.PeriodTypeTotal> sumByPeriodAndType(@Param("userId") Long userId,
+            @Param("unit") String unit, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Groups on the integer key and looks the names up afterwards
+    @Query(value = "SELECT c.name AS category, s.type, s.total, s.count FROM ("
+            + "SELECT category_id, lower(type) AS type, CAST(SUM(amount_paise) AS BIGINT) AS total, "
+            + "COUNT(*) AS count FROM transactions WHERE user_id = :userId AND date >= :from AND date < :to "
+            + "GROUP BY category_id, lower(type)) s JOIN categories c ON c.id = s.category_id ORDER BY s.total DESC",
+            nativeQuery = true)
+    List<TransactionAggregates.CategoryTypeTotal> sumByCategoryAndType(@Param("userId") Long userId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Single set-based DELETE; the derived deleteBy... would load and remove rows one by one
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes the user's rows in [from, to) that match the optional category and import
+     * batch, and subtracts them from transaction_monthly_rollup in the same statement so
+     * the rollup sees exactly the rows that were removed. Returns the number deleted.
+     * Runs as a query (it ends in SELECT), hence the explicit read-write transaction.
+     */
+    @Transactional
+    @Query(value = "WITH deleted AS ("
+            + "  DELETE FROM transactions WHERE user_id = :userId AND date >= :from AND date < :to"
+            + "  AND (CAST(:categoryId AS bigint) IS NULL OR category_id = CAST(:categoryId AS bigint))"
+            + "  AND (CAST(:importBatchId AS text) IS NULL OR import_batch_id = CAST(:importBatchId AS text))"
+            + "  RETURNING user_id, date, category_id, type, amount_paise"
+            + "), rollup AS ("
+            + "  INSERT INTO transaction_monthly_rollup (user_id, month_start, category_id, type, total_paise, tx_count)"
+            + "  SELECT user_id, CAST(date_trunc('month', date) AS date), category_id, lower(type), -SUM(amount_paise), -COUNT(*)"
+            + "  FROM deleted GROUP BY 1, 2, 3, 4"
+            + "  ON CONFLICT (user_id, month_start, category_id, type) DO UPDATE SET"
+            + "  total_paise = transaction_monthly_rollup.total_paise + EXCLUDED.total_paise,"
+            + "  tx_count = transaction_monthly_rollup.tx_count + EXCLUDED.tx_count"
+            + ") SELECT COUNT(*) FROM deleted",
+            nativeQuery = true)
+    long deleteMatching(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to, @Param("categoryId") Long categoryId,
+            @Param("importBatchId") String importBatchId);
 }
@@ -0,0 +1,93 @@
+package com.upiq.transaction.repository;
+
+import com.upiq.transaction.model.TransactionMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TransactionRollupRepository
+        extends JpaRepository<TransactionMonthlyRollup, TransactionMonthlyRollup.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_monthly_rollup (user_id, month_start, category_id, type, total_paise, tx_count) "
+            + "VALUES (:userId, :monthStart, :categoryId, :type, :totalPaise, :count) "
+            + "ON CONFLICT (user_id, month_start, category_id, type) DO UPDATE SET "
+            + "total_paise = transaction_monthly_rollup.total_paise + EXCLUDED.total_paise, "
+            + "tx_count = transaction_monthly_rollup.tx_count + EXCLUDED.tx_count",
+            nativeQuery = true)
+    void addDelta(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart,
+            @Param("categoryId") Long categoryId, @Param("type") String type,
+            @Param("totalPaise") long totalPaise, @Param("count") long count);
+
+    // Drops keys whose last transaction was removed so they don't linger as zero rows
+    @Modifying
+    @Query(value = "DELETE FROM transaction_monthly_rollup WHERE user_id = :userId AND tx_count <= 0",
+            nativeQuery = true)
+    void pruneEmpty(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_monthly_rollup WHERE user_id = :userId", nativeQuery = true)
+    void deleteAllForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_monthly_rollup (user_id, month_start, category_id, type, total_paise, tx_count) "
+            + "SELECT user_id, month_start, :toCategoryId, type, total_paise, tx_count "
+            + "FROM transaction_monthly_rollup WHERE user_id = :userId AND category_id = :fromCategoryId "
+            + "ON CONFLICT (user_id, month_start, category_id, type) DO UPDATE SET "
+            + "total_paise = transaction_monthly_rollup.total_paise + EXCLUDED.total_paise, "
+            + "tx_count = transaction_monthly_rollup.tx_count + EXCLUDED.tx_count",
+            nativeQuery = true)
+    void mergeCategory(@Param("userId") Long userId, @Param("fromCategoryId") Long fromCategoryId,
+            @Param("toCategoryId") Long toCategoryId);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_monthly_rollup WHERE user_id = :userId AND category_id = :categoryId",
+            nativeQuery = true)
+    void deleteCategory(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    // Everyone who has (or had) transactions has a counter row; stale rollup rows are included too
+    @Query(value = "SELECT user_id FROM user_change_counters UNION SELECT user_id FROM transaction_monthly_rollup",
+            nativeQuery = true)
+    List<Long> findUserIds();
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_monthly_rollup (user_id, month_start, category_id, type, total_paise, tx_count) "
+            + "SELECT user_id, CAST(date_trunc('month', date) AS date), category_id, lower(type), SUM(amount_paise), COUNT(*) "
+            + "FROM transactions WHERE user_id = :userId GROUP BY 1, 2, 3, 4",
+            nativeQuery = true)
+    void insertFromTransactions(@Param("userId") Long userId);
+
+    // Aggregates over months in [fromMonth, toMonth); same projections as TransactionRepository
+    @Query(value = "SELECT type, CAST(SUM(total_paise) AS BIGINT) AS total, "
+            + "CAST(SUM(tx_count) AS BIGINT) AS count "
+            + "FROM transaction_monthly_rollup "
+            + "WHERE user_id = :userId AND month_start >= :fromMonth AND month_start < :toMonth GROUP BY type",
+            nativeQuery = true)
+    List<TransactionAggregates.TypeTotal> sumByType(@Param("userId") Long userId,
+            @Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+
+    @Query(value = "SELECT month_start AS period, type, CAST(SUM(total_paise) AS BIGINT) AS total, "
+            + "CAST(SUM(tx_count) AS BIGINT) AS count "
+            + "FROM transaction_monthly_rollup "
+            + "WHERE user_id = :userId AND month_start >= :fromMonth AND month_start < :toMonth "
+            + "GROUP BY month_start, type ORDER BY month_start",
+            nativeQuery = true)
+    List<TransactionAggregates.PeriodTypeTotal> sumByMonthAndType(@Param("userId") Long userId,
+            @Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+
+    @Query(value = "SELECT c.name AS category, r.type, r.total, r.count FROM ("
+            + "SELECT category_id, type, CAST(SUM(total_paise) AS BIGINT) AS total, "
+            + "CAST(SUM(tx_count) AS BIGINT) AS count "
+            + "FROM transaction_monthly_rollup "
+            + "WHERE user_id = :userId AND month_start >= :fromMonth AND month_start < :toMonth "
+            + "GROUP BY category_id, type) r JOIN categories c ON c.id = r.category_id ORDER BY r.total DESC",
+            nativeQuery = true)
+    List<TransactionAggregates.CategoryTypeTotal> sumByCategoryAndType(@Param("userId") Long userId,
+            @Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+}
@@ -0,0 +1,23 @@
+package com.upiq.transaction.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-side shape of a transaction plus its category name, selected with a JPQL
+ * constructor expression ({@link TransactionRepository#ROW_SELECT}). Listing endpoints
+ * use it so no managed entities or dirty-checking snapshots are created.
+ */
+public record TransactionRow(
+        Long id,
+        Long userId,
+        long amountPaise,
+        String type,
+        Long categoryId,
+        String category,
+        String description,
+        LocalDateTime date,
+        String paymentMethod,
+        String importBatchId,
+        LocalDateTime updatedAt,
+        Long changeSeq) {
+}
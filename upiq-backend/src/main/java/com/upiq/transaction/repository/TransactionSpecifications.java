@@ -0,0 +1,89 @@
+package com.upiq.transaction.repository;
+
+import com.upiq.transaction.dto.TransactionFilter;
+import com.upiq.transaction.model.Transaction;
+import com.upiq.transaction.utils.MoneyUtils;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Translates a {@link TransactionFilter} into one WHERE clause. Case-insensitive matches
+ * compare {@code lower(column)} so they line up with the expression indexes in V4;
+ * category names are resolved to ids up front and matched on {@code category_id}.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    /** {@code categoryIds} maps the user's lower-cased category names to their ids. */
+    public static Specification<Transaction> forUser(Long userId, TransactionFilter filter,
+            Map<String, Long> categoryIds) {
+        // Converted here so an out-of-range amount fails in the caller, not inside the repository
+        Long minPaise = filter.getMinAmount() != null ? MoneyUtils.toPaise(filter.getMinAmount()) : null;
+        Long maxPaise = filter.getMaxAmount() != null ? MoneyUtils.toPaise(filter.getMaxAmount()) : null;
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("userId"), userId));
+
+            if (filter.getDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("date"), filter.getDateFrom().atStartOfDay()));
+            }
+            if (filter.getDateTo() != null) {
+                // Half-open upper bound keeps the whole last day without touching time precision
+                predicates.add(cb.lessThan(root.get("date"), filter.getDateTo().plusDays(1).atStartOfDay()));
+            }
+            if (hasText(filter.getType())) {
+                predicates.add(cb.equal(cb.lower(root.get("type")), lower(filter.getType())));
+            }
+            List<String> categories = lowerAll(filter.getCategories());
+            if (!categories.isEmpty()) {
+                List<Long> ids = categories.stream().map(categoryIds::get).filter(Objects::nonNull).toList();
+                // Names the user has never used can't match anything
+                predicates.add(ids.isEmpty() ? cb.disjunction() : root.get("categoryId").in(ids));
+            }
+            List<String> paymentMethods = lowerAll(filter.getPaymentMethods());
+            if (!paymentMethods.isEmpty()) {
+                predicates.add(cb.lower(root.get("paymentMethod")).in(paymentMethods));
+            }
+            if (minPaise != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amountPaise"), minPaise));
+            }
+            if (maxPaise != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amountPaise"), maxPaise));
+            }
+            if (hasText(filter.getDescriptionContains())) {
+                String pattern = "%" + escapeLike(lower(filter.getDescriptionContains())) + "%";
+                predicates.add(cb.like(cb.lower(root.get("description")), pattern, '\\'));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String lower(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> lowerAll(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream().filter(TransactionSpecifications::hasText)
+                .map(TransactionSpecifications::lower).distinct().toList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
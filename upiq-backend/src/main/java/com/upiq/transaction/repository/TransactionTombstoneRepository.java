@@ -0,0 +1,36 @@
+package com.upiq.transaction.repository;
+
+import com.upiq.transaction.model.TransactionTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TransactionTombstoneRepository extends JpaRepository<TransactionTombstone, Long> {
+
+    @Query("SELECT t FROM TransactionTombstone t WHERE t.userId = :userId "
+            + "AND t.changeSeq > :since AND t.changeSeq <= :upTo ORDER BY t.changeSeq")
+    List<TransactionTombstone> findChanges(@Param("userId") Long userId, @Param("since") long since,
+            @Param("upTo") long upTo, Limit limit);
+
+    /**
+     * Deletes tombstones older than the cutoff and raises each affected user's purged_seq,
+     * so clients syncing from before that point are told to resync. Returns rows purged.
+     */
+    @Query(value = "WITH purged AS ("
+            + "  DELETE FROM transaction_tombstones WHERE deleted_at < :cutoff RETURNING user_id, change_seq"
+            + "), bumped AS ("
+            + "  UPDATE user_change_counters c SET purged_seq = GREATEST(c.purged_seq, p.max_seq)"
+            + "  FROM (SELECT user_id, MAX(change_seq) AS max_seq FROM purged GROUP BY user_id) p"
+            + "  WHERE c.user_id = p.user_id"
+            + ") SELECT COUNT(*) FROM purged",
+            nativeQuery = true)
+    @Transactional
+    long purgeOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
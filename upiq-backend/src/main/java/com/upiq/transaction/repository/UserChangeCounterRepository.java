@@ -0,0 +1,30 @@
+package com.upiq.transaction.repository;
+
+import com.upiq.transaction.model.UserChangeCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserChangeCounterRepository extends JpaRepository<UserChangeCounter, Long> {
+
+    /**
+     * Takes the row lock that every write to the user's transactions takes through the
+     * change-tracking triggers, so the caller waits for in-flight writers and blocks new ones.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UserChangeCounter c WHERE c.userId = :userId")
+    Optional<UserChangeCounter> lockByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_change_counters (user_id, last_seq, category_version) VALUES (:userId, 0, 1) "
+            + "ON CONFLICT (user_id) DO UPDATE SET category_version = user_change_counters.category_version + 1",
+            nativeQuery = true)
+    void bumpCategoryVersion(@Param("userId") Long userId);
+}
@@ -0,0 +1,14 @@
+package com.upiq.transaction.service;
+
+import com.upiq.transaction.dto.CategoryBreakdownResponse;
+import com.upiq.transaction.dto.SummaryGranularity;
+import com.upiq.transaction.dto.TransactionSummaryResponse;
+
+import java.time.LocalDate;
+
+public interface TransactionAnalyticsService {
+
+    TransactionSummaryResponse getSummary(Long userId, LocalDate from, LocalDate to, SummaryGranularity granularity);
+
+    CategoryBreakdownResponse getBreakdown(Long userId, LocalDate from, LocalDate to, String type);
+}
@@ -0,0 +1,13 @@
+package com.upiq.transaction.service;
+
+import com.upiq.transaction.dto.BulkIngestResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface TransactionBulkIngestService {
+
+    /**
+     * Streams the rows of a CSV export straight into the transactions table with
+     * PostgreSQL COPY, committing every {@code app.transactions.ingest.batch-size} rows.
+     */
+    BulkIngestResponse ingestCsv(MultipartFile file, Long userId);
+}
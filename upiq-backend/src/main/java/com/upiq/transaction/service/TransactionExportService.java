@@ -0,0 +1,12 @@
+package com.upiq.transaction.service;
+
+import com.upiq.transaction.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TransactionExportService {
+
+    /** Writes all of the user's transactions, newest first; returns the number of rows written. */
+    long export(Long userId, ExportFormat format, OutputStream out) throws IOException;
+}
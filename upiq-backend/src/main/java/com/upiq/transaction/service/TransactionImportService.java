@@ -0,0 +1,9 @@
+package com.upiq.transaction.service;
+
+import com.upiq.transaction.dto.ImportTransactionsRequest;
+import com.upiq.transaction.dto.ImportTransactionsResponse;
+
+public interface TransactionImportService {
+
+    ImportTransactionsResponse importTransactions(ImportTransactionsRequest request, Long userId);
+}
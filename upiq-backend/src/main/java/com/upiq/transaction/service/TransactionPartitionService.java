@@ -0,0 +1,29 @@
+package com.upiq.transaction.service;
+
+import java.util.List;
+
+/**
+ * Maintains the yearly partitions of {@code transactions} (see V10): creates upcoming
+ * years ahead of time and detaches years past the retention window.
+ */
+public interface TransactionPartitionService {
+
+    /** Creates any missing partitions from this year up to the configured years ahead. */
+    void ensurePartitions();
+
+    /**
+     * Makes sure rows dated in {@code year} have a partition, creating it if needed.
+     * Call it before the current transaction writes to {@code transactions} or
+     * {@code categories}: creating a partition has to lock both.
+     *
+     * @throws IllegalArgumentException if the year was detached for archiving
+     */
+    void ensurePartitionForYear(int year);
+
+    /**
+     * Detaches partitions whose upper bound is at or before the retention cutoff and
+     * returns their names. Detached tables keep their rows for archiving; users who had
+     * rows in them are told to resync, since no tombstones are written for those rows.
+     */
+    List<String> detachExpiredPartitions();
+}
@@ -0,0 +1,31 @@
+package com.upiq.transaction.service;
+
+import com.upiq.transaction.model.Transaction;
+
+import java.util.Collection;
+
+/**
+ * Keeps {@code transaction_monthly_rollup} in step with {@code transactions}. The apply
+ * methods join the caller's database transaction.
+ */
+public interface TransactionRollupService {
+
+    void applyAdded(Transaction transaction);
+
+    void applyAdded(Collection<Transaction> transactions);
+
+    void applyRemoved(Transaction transaction);
+
+    /** {@code before} is a snapshot of the row's values prior to the update. */
+    void applyUpdated(Transaction before, Transaction after);
+
+    void clearUser(Long userId);
+
+    /** Removes keys left at zero by a set-based delete that adjusted the rollup itself. */
+    void pruneUser(Long userId);
+
+    /** Folds one category's rows into another's, mirroring a reassignment of its transactions. */
+    void reassignCategory(Long userId, Long fromCategoryId, Long toCategoryId);
+
+    void rebuildAll();
+}
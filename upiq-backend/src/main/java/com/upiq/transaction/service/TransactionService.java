@@ -1,7 +1,12 @@
 package com.upiq.transaction.service;
 
+import com.upiq.transaction.dto.BulkDeleteResponse;
+import com.upiq.transaction.dto.TransactionChangesResponse;
+import com.upiq.transaction.dto.TransactionFilter;
+import com.upiq.transaction.dto.TransactionPageResponse;
 import com.upiq.transaction.dto.TransactionResponse;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface TransactionService {
@@ -10,8 +15,20 @@ public interface TransactionService {
 
     List<TransactionResponse> getUserTransactions(Long userId);
 
+    /** Latest change sequence number for the user; 0 if they have never written anything. */
+    long getCurrentChangeSeq(Long userId);
+
+    /** Bumped whenever one of the user's categories is renamed or deleted; 0 if never. */
+    long getCategoryVersion(Long userId);
+
+    TransactionChangesResponse getChanges(Long userId, long since, Integer limit);
+
+    TransactionPageResponse getUserTransactionsPage(Long userId, String cursor, Integer size);
+
     List<TransactionResponse> getUserTransactionsByCategory(Long userId, String category);
 
+    List<TransactionResponse> queryTransactions(Long userId, TransactionFilter filter);
+
     void deleteTransaction(Long id, Long userId);
 
     TransactionResponse getById(Long id, Long userId);
@@ -20,4 +37,7 @@ public interface TransactionService {
             Long userId);
 
     void deleteAllTransactions(Long userId);
+
+    BulkDeleteResponse deleteTransactions(Long userId, LocalDate from, LocalDate to, String category,
+            String importBatchId);
 }
@@ -0,0 +1,32 @@
+package com.upiq.transaction.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+
+/**
+ * Date handling for {@code CreateTransactionRequest.date}, shared by single and bulk inserts.
+ */
+@Slf4j
+final class RequestDates {
+
+    private RequestDates() {
+    }
+
+    static LocalDateTime parseOrNow(String date) {
+        if (date == null || date.isEmpty()) {
+            return LocalDateTime.now();
+        }
+        try {
+            // Support multiple formats: ISO with 'Z', without 'T', etc.
+            String dateStr = date.replace("Z", "");
+            if (!dateStr.contains("T") && dateStr.contains(" ")) {
+                dateStr = dateStr.replace(" ", "T");
+            }
+            return LocalDateTime.parse(dateStr);
+        } catch (Exception e) {
+            log.warn("Failed to parse date: {}, using current time", date);
+            return LocalDateTime.now();
+        }
+    }
+}
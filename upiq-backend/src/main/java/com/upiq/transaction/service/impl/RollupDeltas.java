@@ -0,0 +1,48 @@
+package com.upiq.transaction.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Accumulates signed (total, count) changes per rollup key so a batch of rows turns
+ * into one upsert per distinct (user, month, category, type).
+ */
+final class RollupDeltas {
+
+    record Key(Long userId, LocalDate monthStart, Long categoryId, String type) {
+    }
+
+    static final class Delta {
+        long totalPaise;
+        long count;
+    }
+
+    private final Map<Key, Delta> deltas = new LinkedHashMap<>();
+
+    void add(Long userId, LocalDateTime date, Long categoryId, String type, long amountPaise, int sign) {
+        Key key = new Key(userId, date.toLocalDate().withDayOfMonth(1), categoryId,
+                type == null ? "" : type.toLowerCase(Locale.ROOT));
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        delta.totalPaise += sign * amountPaise;
+        delta.count += sign;
+    }
+
+    boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /** Entries that actually change the rollup; an update within one key may net to zero. */
+    List<Map.Entry<Key, Delta>> nonZero() {
+        return deltas.entrySet().stream()
+                .filter(e -> e.getValue().count != 0 || e.getValue().totalPaise != 0)
+                .toList();
+    }
+
+    void clear() {
+        deltas.clear();
+    }
+}
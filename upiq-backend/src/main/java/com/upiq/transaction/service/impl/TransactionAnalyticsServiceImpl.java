@@ -0,0 +1,172 @@
+package com.upiq.transaction.service.impl;
+
+import com.upiq.config.UserDataCache;
+import com.upiq.transaction.dto.CategoryBreakdownResponse;
+import com.upiq.transaction.dto.CategoryTotal;
+import com.upiq.transaction.dto.PeriodTotal;
+import com.upiq.transaction.dto.SummaryGranularity;
+import com.upiq.transaction.dto.TransactionSummaryResponse;
+import com.upiq.transaction.repository.TransactionAggregates;
+import com.upiq.transaction.repository.TransactionRepository;
+import com.upiq.transaction.repository.TransactionRollupRepository;
+import com.upiq.transaction.service.TransactionAnalyticsService;
+import com.upiq.transaction.utils.MoneyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dashboard aggregates. Whole-month ranges are answered from
+ * {@code transaction_monthly_rollup}, so their cost depends on the number of months
+ * and categories rather than on the number of transactions; other ranges fall back to
+ * GROUP BY over {@code transactions}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TransactionAnalyticsServiceImpl implements TransactionAnalyticsService {
+
+    // Stand-ins for an open-ended range so every query keeps the same plan shape
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private static final String INCOME = "income";
+    private static final String EXPENSE = "expense";
+
+    private final TransactionRepository repository;
+    private final TransactionRollupRepository rollupRepository;
+    private final UserDataCache userDataCache;
+
+    @Override
+    public TransactionSummaryResponse getSummary(Long userId, LocalDate from, LocalDate to,
+            SummaryGranularity granularity) {
+        validateRange(from, to);
+        return userDataCache.get(userId, UserDataCache.Region.SUMMARY, Arrays.asList("summary", from, to, granularity),
+                () -> computeSummary(userId, from, to, granularity));
+    }
+
+    private TransactionSummaryResponse computeSummary(Long userId, LocalDate from, LocalDate to,
+            SummaryGranularity granularity) {
+        LocalDateTime start = start(from);
+        LocalDateTime end = end(to);
+        boolean fromRollup = isMonthAligned(from, to);
+
+        List<TransactionAggregates.TypeTotal> typeTotals = fromRollup
+                ? rollupRepository.sumByType(userId, start.toLocalDate(), end.toLocalDate())
+                : repository.sumByType(userId, start, end);
+        boolean monthlyFromRollup = fromRollup && granularity == SummaryGranularity.MONTH;
+        List<TransactionAggregates.PeriodTypeTotal> periodTotals = monthlyFromRollup
+                ? rollupRepository.sumByMonthAndType(userId, start.toLocalDate(), end.toLocalDate())
+                : repository.sumByPeriodAndType(userId, granularity.unit(), start, end);
+
+        // Sums stay in paise (long) and are converted to rupees only for the response
+        Sums totals = new Sums();
+        for (TransactionAggregates.TypeTotal row : typeTotals) {
+            totals.add(row);
+        }
+
+        Map<LocalDate, Sums> periodSums = new LinkedHashMap<>();
+        for (TransactionAggregates.PeriodTypeTotal row : periodTotals) {
+            periodSums.computeIfAbsent(row.getPeriod(), p -> new Sums()).add(row);
+        }
+        List<PeriodTotal> periods = periodSums.entrySet().stream()
+                .map(e -> PeriodTotal.builder()
+                        .periodStart(e.getKey())
+                        .income(MoneyUtils.toRupees(e.getValue().incomePaise))
+                        .expense(MoneyUtils.toRupees(e.getValue().expensePaise))
+                        .count(e.getValue().count)
+                        .build())
+                .toList();
+
+        long balancePaise = totals.incomePaise - totals.expensePaise;
+        return TransactionSummaryResponse.builder()
+                .from(from)
+                .to(to)
+                .granularity(granularity)
+                .totalIncome(MoneyUtils.toRupees(totals.incomePaise))
+                .totalExpense(MoneyUtils.toRupees(totals.expensePaise))
+                .balance(MoneyUtils.toRupees(balancePaise))
+                .savingsRate(totals.incomePaise > 0 ? balancePaise * 100.0 / totals.incomePaise : 0)
+                .transactionCount(totals.count)
+                .periods(periods)
+                .build();
+    }
+
+    @Override
+    public CategoryBreakdownResponse getBreakdown(Long userId, LocalDate from, LocalDate to, String type) {
+        validateRange(from, to);
+        String typeFilter = type == null || type.isBlank() ? null : type.trim().toLowerCase(Locale.ROOT);
+        return userDataCache.get(userId, UserDataCache.Region.SUMMARY, Arrays.asList("breakdown", from, to, typeFilter),
+                () -> computeBreakdown(userId, from, to, typeFilter));
+    }
+
+    private CategoryBreakdownResponse computeBreakdown(Long userId, LocalDate from, LocalDate to, String typeFilter) {
+        LocalDateTime start = start(from);
+        LocalDateTime end = end(to);
+        List<TransactionAggregates.CategoryTypeTotal> rows = isMonthAligned(from, to)
+                ? rollupRepository.sumByCategoryAndType(userId, start.toLocalDate(), end.toLocalDate())
+                : repository.sumByCategoryAndType(userId, start, end);
+
+        List<CategoryTotal> categories = rows.stream()
+                .filter(row -> typeFilter == null || typeFilter.equals(row.getType()))
+                .map(row -> CategoryTotal.builder()
+                        .category(row.getCategory())
+                        .type(row.getType())
+                        .total(MoneyUtils.toRupees(row.getTotal()))
+                        .count(row.getCount())
+                        .build())
+                .toList();
+
+        return CategoryBreakdownResponse.builder()
+                .from(from)
+                .to(to)
+                .categories(categories)
+                .build();
+    }
+
+    private static final class Sums {
+        long incomePaise;
+        long expensePaise;
+        long count;
+
+        void add(TransactionAggregates.TypeTotal row) {
+            if (INCOME.equals(row.getType())) {
+                incomePaise += row.getTotal();
+            } else if (EXPENSE.equals(row.getType())) {
+                expensePaise += row.getTotal();
+            }
+            count += row.getCount();
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+    }
+
+    // Open ends count as aligned: the sentinels are month starts too
+    private static boolean isMonthAligned(LocalDate from, LocalDate to) {
+        return (from == null || from.getDayOfMonth() == 1)
+                && (to == null || to.getDayOfMonth() == to.lengthOfMonth());
+    }
+
+    private static LocalDateTime start(LocalDate from) {
+        return from != null ? from.atStartOfDay() : EARLIEST;
+    }
+
+    // Inclusive end date -> exclusive bound at the next midnight
+    private static LocalDateTime end(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : LATEST;
+    }
+}
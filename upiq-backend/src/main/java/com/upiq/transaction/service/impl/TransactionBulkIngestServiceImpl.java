@@ -0,0 +1,298 @@
+package com.upiq.transaction.service.impl;
+
+import com.upiq.category.service.CategoryService;
+import com.upiq.config.UserDataCache;
+import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.exceptions.ParsingException;
+import com.upiq.pdf.service.CSVParserService;
+import com.upiq.pdf.service.FileValidationService;
+import com.upiq.transaction.dto.BulkIngestResponse;
+import com.upiq.transaction.service.TransactionBulkIngestService;
+import com.upiq.transaction.service.TransactionPartitionService;
+import com.upiq.transaction.utils.MoneyUtils;
+import com.upiq.transaction.utils.TransactionTypes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Bulk path for very large CSV imports. Rows go from the CSV parser straight into a
+ * COPY stream: no JPA entities, no persistence context, no per-row statements.
+ *
+ * Commits are managed here rather than with {@code @Transactional}: every batch is
+ * its own transaction, so a failure keeps the batches already committed and the
+ * response reports how far the import got.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionBulkIngestServiceImpl implements TransactionBulkIngestService {
+
+    private static final String COPY_SQL = "COPY transactions "
+            + "(user_id, amount_paise, type, category_id, description, date, payment_method, import_batch_id) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String ROLLUP_UPSERT_SQL = "INSERT INTO transaction_monthly_rollup "
+            + "(user_id, month_start, category_id, type, total_paise, tx_count) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_id, month_start, category_id, type) DO UPDATE SET "
+            + "total_paise = transaction_monthly_rollup.total_paise + EXCLUDED.total_paise, "
+            + "tx_count = transaction_monthly_rollup.tx_count + EXCLUDED.tx_count";
+    private static final String DEFAULT_CATEGORY = "Uncategorized";
+
+    private final DataSource dataSource;
+    private final CSVParserService csvParserService;
+    private final FileValidationService validationService;
+    private final UserDataCache userDataCache;
+    private final CategoryService categoryService;
+    private final TransactionPartitionService partitionService;
+
+    @Value("${app.transactions.ingest.batch-size:10000}")
+    private int batchSize;
+
+    @Override
+    public BulkIngestResponse ingestCsv(MultipartFile file, Long userId) {
+        validationService.validateFile(file);
+        if (!validationService.isCSV(file)) {
+            throw new ParsingException("Bulk ingest only supports CSV files");
+        }
+
+        long start = System.currentTimeMillis();
+        String importBatchId = UUID.randomUUID().toString();
+        // Categories are created (and committed) on first sight, before any COPY row references them
+        Map<String, Long> categoryIds = new HashMap<>();
+        Function<String, Long> resolveCategory = name -> categoryIds.computeIfAbsent(
+                name.trim().toLowerCase(Locale.ROOT), key -> categoryService.resolveCategoryId(userId, name, null));
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            CopyBatcher batcher = new CopyBatcher(connection, userId, importBatchId, resolveCategory,
+                    partitionService::ensurePartitionForYear, Math.max(1, batchSize));
+            try {
+                csvParserService.streamCSV(file, batcher::write);
+                batcher.finish();
+
+                long durationMs = System.currentTimeMillis() - start;
+                log.info("Bulk ingested {} transactions in {} batches for userId: {} ({} ms)",
+                        batcher.committedRows, batcher.committedBatches, userId, durationMs);
+                return BulkIngestResponse.builder()
+                        .importBatchId(importBatchId)
+                        .rowsIngested(batcher.committedRows)
+                        .batchesCommitted(batcher.committedBatches)
+                        .durationMs(durationMs)
+                        .build();
+            } catch (SQLException e) {
+                batcher.rollbackQuietly();
+                throw e;
+            } catch (RuntimeException e) {
+                // A parser failure can leave a COPY open; restoring autocommit would commit half a batch
+                batcher.rollbackQuietly();
+                throw e instanceof ParsingException ? e : new ParsingException("Bulk ingest failed: " + e.getMessage(), e);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                // Batches commit as they go, so even a failed ingest may have changed the data
+                userDataCache.invalidate(userId, UserDataCache.Region.TRANSACTIONS, UserDataCache.Region.SUMMARY);
+            }
+        } catch (SQLException e) {
+            log.error("Bulk ingest failed for userId {}: {}", userId, e.getMessage(), e);
+            throw new IllegalStateException("Bulk ingest failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes rows into an open COPY and commits every {@code batchSize} rows, together
+     * with the batch's monthly rollup deltas so both land in one transaction. The CSV
+     * parser swallows exceptions thrown by its sink (they look like bad records), so a
+     * database failure is remembered, further rows are dropped, and it is rethrown
+     * from {@link #finish()}.
+     */
+    private static final class CopyBatcher {
+
+        private final Connection connection;
+        private final CopyManager copyManager;
+        private final Long userIdValue;
+        private final String userId;
+        private final String importBatchId;
+        private final Function<String, Long> resolveCategory;
+        private final IntConsumer ensurePartition;
+        private final Set<Integer> partitionedYears = new HashSet<>();
+        private final Set<Integer> archivedYears = new HashSet<>();
+        private final RollupDeltas rollupDeltas = new RollupDeltas();
+        private final int batchSize;
+        private final StringBuilder line = new StringBuilder(256);
+
+        private CopyIn copy;
+        private int rowsInBatch;
+        private long committedRows;
+        private int committedBatches;
+        private SQLException failure;
+
+        CopyBatcher(Connection connection, Long userId, String importBatchId,
+                Function<String, Long> resolveCategory, IntConsumer ensurePartition, int batchSize)
+                throws SQLException {
+            this.connection = connection;
+            this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            this.userIdValue = userId;
+            this.userId = String.valueOf(userId);
+            this.importBatchId = importBatchId;
+            this.resolveCategory = resolveCategory;
+            this.ensurePartition = ensurePartition;
+            this.batchSize = batchSize;
+        }
+
+        void write(TransactionRequest tx) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                // Throws for a missing amount; the parser counts that as a bad record and moves on
+                long amountPaise = MoneyUtils.toPaise(tx.getAmount());
+                LocalDateTime date = tx.getDate() != null ? tx.getDate() : LocalDateTime.now();
+                ensurePartition(date.getYear());
+                // Parsers report credit/debit; summaries only count income/expense
+                String type = TransactionTypes.normalize(tx.getType());
+                if (type == null) {
+                    type = TransactionTypes.EXPENSE;
+                }
+                Long categoryId = resolveCategory.apply(tx.getCategory() != null && !tx.getCategory().isBlank()
+                        ? tx.getCategory() : DEFAULT_CATEGORY);
+                if (copy == null) {
+                    copy = copyManager.copyIn(COPY_SQL);
+                }
+                byte[] row = encode(tx, type, amountPaise, date, categoryId);
+                copy.writeToCopy(row, 0, row.length);
+                rollupDeltas.add(userIdValue, date, categoryId, type, amountPaise, 1);
+                if (++rowsInBatch >= batchSize) {
+                    commitBatch();
+                }
+            } catch (SQLException e) {
+                failure = e;
+                rollbackQuietly();
+            }
+        }
+
+        /**
+         * Creating a partition locks transactions, which the open COPY holds, so the
+         * current batch is committed first. Archived years throw, skipping the row.
+         */
+        private void ensurePartition(int year) throws SQLException {
+            if (partitionedYears.contains(year)) {
+                return;
+            }
+            if (archivedYears.contains(year)) {
+                throw new IllegalArgumentException("Transactions dated in " + year + " have been archived");
+            }
+            if (copy != null) {
+                commitBatch();
+            }
+            try {
+                ensurePartition.accept(year);
+            } catch (IllegalArgumentException e) {
+                archivedYears.add(year);
+                throw e;
+            }
+            partitionedYears.add(year);
+        }
+
+        void finish() throws SQLException {
+            if (failure != null) {
+                throw new SQLException(String.format("%s (%d rows in %d batches were committed)",
+                        failure.getMessage(), committedRows, committedBatches), failure);
+            }
+            if (copy != null) {
+                commitBatch();
+            }
+        }
+
+        private void commitBatch() throws SQLException {
+            copy.endCopy();
+            writeRollup();
+            connection.commit();
+            copy = null;
+            committedRows += rowsInBatch;
+            committedBatches++;
+            rowsInBatch = 0;
+        }
+
+        private void writeRollup() throws SQLException {
+            if (rollupDeltas.isEmpty()) {
+                return;
+            }
+            try (PreparedStatement upsert = connection.prepareStatement(ROLLUP_UPSERT_SQL)) {
+                for (Map.Entry<RollupDeltas.Key, RollupDeltas.Delta> entry : rollupDeltas.nonZero()) {
+                    RollupDeltas.Key key = entry.getKey();
+                    upsert.setLong(1, key.userId());
+                    upsert.setDate(2, Date.valueOf(key.monthStart()));
+                    upsert.setLong(3, key.categoryId());
+                    upsert.setString(4, key.type());
+                    upsert.setLong(5, entry.getValue().totalPaise);
+                    upsert.setLong(6, entry.getValue().count);
+                    upsert.addBatch();
+                }
+                upsert.executeBatch();
+            }
+            rollupDeltas.clear();
+        }
+
+        private void rollbackQuietly() {
+            try {
+                if (copy != null && copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                connection.rollback();
+            } catch (SQLException e) {
+                log.warn("Rollback after failed COPY batch failed: {}", e.getMessage());
+            }
+            copy = null;
+            rollupDeltas.clear();
+        }
+
+        // One row in COPY csv format: unquoted empty = NULL, quoted text otherwise.
+        private byte[] encode(TransactionRequest tx, String type, long amountPaise, LocalDateTime date, Long categoryId) {
+            line.setLength(0);
+            line.append(userId).append(',')
+                    .append(amountPaise).append(',');
+            quote(type).append(',')
+                    .append(categoryId).append(',');
+            quote(tx.getDescription()).append(',')
+                    .append(date).append(',');
+            quote(tx.getPaymentMethod()).append(',')
+                    .append(importBatchId).append('\n');
+            return line.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private StringBuilder quote(String value) {
+            if (value == null) {
+                return line;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            return line.append('"');
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.upiq.transaction.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upiq.category.service.CategoryService;
+import com.upiq.transaction.dto.ExportFormat;
+import com.upiq.transaction.model.Transaction;
+import com.upiq.transaction.repository.TransactionRepository;
+import com.upiq.transaction.service.TransactionExportService;
+import com.upiq.transaction.utils.MoneyUtils;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's history straight from a server-side cursor to the response. Rows are
+ * written and detached one at a time, so heap use does not grow with the export size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final String[] HEADER = {
+            "id", "date", "type", "category", "amount", "paymentMethod", "description"
+    };
+
+    private final TransactionRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final CategoryService categoryService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long rows;
+        Map<Long, String> categoryNames = categoryService.getCategoryNames(userId);
+        try (Stream<Transaction> transactions = repository.streamByUserId(userId)) {
+            rows = switch (format) {
+                case CSV -> writeCsv(transactions.iterator(), categoryNames, out);
+                case NDJSON -> writeNdjson(transactions.iterator(), categoryNames, out);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} transactions as {} for userId: {} ({} ms)",
+                rows, format, userId, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Transaction> transactions, Map<Long, String> categoryNames, OutputStream out)
+            throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(HEADER).build());
+        long rows = 0;
+        while (transactions.hasNext()) {
+            Transaction t = transactions.next();
+            printer.printRecord(t.getId(), t.getDate(), t.getType(), categoryNames.get(t.getCategoryId()),
+                    MoneyUtils.toDecimal(t.getAmountPaise()), t.getPaymentMethod(), t.getDescription());
+            entityManager.detach(t);
+            rows++;
+        }
+        // Flush, but leave closing the response stream to the container
+        printer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<Transaction> transactions, Map<Long, String> categoryNames, OutputStream out)
+            throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(new SerializedString("\n"));
+        long rows = 0;
+        while (transactions.hasNext()) {
+            Transaction t = transactions.next();
+            json.writeStartObject();
+            json.writeNumberField("id", t.getId());
+            json.writeStringField("date", t.getDate() != null ? t.getDate().toString() : null);
+            json.writeStringField("type", t.getType());
+            json.writeStringField("category", categoryNames.get(t.getCategoryId()));
+            json.writeNumberField("amount", MoneyUtils.toDecimal(t.getAmountPaise()));
+            json.writeStringField("paymentMethod", t.getPaymentMethod());
+            json.writeStringField("description", t.getDescription());
+            json.writeEndObject();
+            entityManager.detach(t);
+            rows++;
+        }
+        if (rows > 0) {
+            json.writeRaw('\n');
+        }
+        json.close();
+        return rows;
+    }
+}
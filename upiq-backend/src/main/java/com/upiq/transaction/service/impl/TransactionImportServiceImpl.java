@@ -0,0 +1,188 @@
+package com.upiq.transaction.service.impl;
+
+import com.upiq.category.service.CategoryService;
+import com.upiq.config.UserDataCache;
+import com.upiq.pdf.dto.ParseJobResponse;
+import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.model.ParseJob;
+import com.upiq.pdf.service.ParseJobService;
+import com.upiq.transaction.dto.CreateTransactionRequest;
+import com.upiq.transaction.dto.ImportRowResult;
+import com.upiq.transaction.dto.ImportTransactionsRequest;
+import com.upiq.transaction.dto.ImportTransactionsResponse;
+import com.upiq.transaction.model.Transaction;
+import com.upiq.transaction.repository.TransactionRepository;
+import com.upiq.transaction.service.TransactionImportService;
+import com.upiq.transaction.service.TransactionPartitionService;
+import com.upiq.transaction.service.TransactionRollupService;
+import com.upiq.transaction.utils.MoneyUtils;
+import com.upiq.transaction.utils.TransactionTypes;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    private static final String DEFAULT_CATEGORY = "Uncategorized";
+    private static final String DEFAULT_PAYMENT_METHOD = "UPI";
+
+    private final TransactionRepository repository;
+    private final ParseJobService parseJobService;
+    private final TransactionRollupService rollupService;
+    private final UserDataCache userDataCache;
+    private final CategoryService categoryService;
+    private final TransactionPartitionService partitionService;
+    private final Validator validator;
+
+    @Value("${app.transactions.import.max-rows:5000}")
+    private int maxRows;
+
+    /**
+     * Validates every row, then inserts all valid rows in one database transaction.
+     * Invalid rows are reported and skipped; a database error rolls back the whole import.
+     * The inserts go out as JDBC batches (hibernate.jdbc.batch_size) thanks to the pooled
+     * sequence ids.
+     */
+    @Override
+    @Transactional
+    public ImportTransactionsResponse importTransactions(ImportTransactionsRequest request, Long userId) {
+        List<CreateTransactionRequest> rows = resolveRows(request, userId);
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException(
+                    String.format("Import of %d rows exceeds the limit of %d", rows.size(), maxRows));
+        }
+
+        // Partitions first, before categories or transactions are written in this transaction
+        List<LocalDateTime> dates = new ArrayList<>(rows.size());
+        Map<Integer, String> yearErrors = new HashMap<>();
+        for (CreateTransactionRequest row : rows) {
+            LocalDateTime date = row != null ? RequestDates.parseOrNow(row.getDate()) : null;
+            dates.add(date);
+            if (date != null && !yearErrors.containsKey(date.getYear())) {
+                try {
+                    partitionService.ensurePartitionForYear(date.getYear());
+                    yearErrors.put(date.getYear(), null);
+                } catch (IllegalArgumentException e) {
+                    yearErrors.put(date.getYear(), e.getMessage());
+                }
+            }
+        }
+
+        List<ImportRowResult> results = new ArrayList<>(rows.size());
+        List<Transaction> toInsert = new ArrayList<>(rows.size());
+        List<ImportRowResult> pending = new ArrayList<>(rows.size());
+        String importBatchId = UUID.randomUUID().toString();
+        // One lookup (or insert) per distinct category name rather than per row
+        Map<String, Long> categoryIds = new HashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            CreateTransactionRequest row = rows.get(i);
+            String error = validate(row);
+            if (error == null) {
+                error = yearErrors.get(dates.get(i).getYear());
+            }
+            ImportRowResult result = ImportRowResult.builder().index(i).build();
+            if (error != null) {
+                result.setStatus(ImportRowResult.Status.FAILED);
+                result.setError(error);
+            } else {
+                toInsert.add(Transaction.builder()
+                        .userId(userId)
+                        .amountPaise(MoneyUtils.toPaise(row.getAmount()))
+                        .type(row.getType())
+                        .categoryId(categoryIds.computeIfAbsent(row.getCategory().trim().toLowerCase(Locale.ROOT),
+                                name -> categoryService.resolveCategoryId(userId, row.getCategory(), row.getType())))
+                        .description(row.getDescription())
+                        .paymentMethod(row.getPaymentMethod())
+                        .date(dates.get(i))
+                        .importBatchId(importBatchId)
+                        .build());
+                pending.add(result);
+            }
+            results.add(result);
+        }
+
+        repository.saveAll(toInsert);
+        rollupService.applyAdded(toInsert);
+        userDataCache.invalidate(userId, UserDataCache.Region.TRANSACTIONS, UserDataCache.Region.SUMMARY);
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).setStatus(ImportRowResult.Status.CREATED);
+            pending.get(i).setId(toInsert.get(i).getId());
+        }
+
+        log.info("Imported {} of {} transactions for userId: {}", toInsert.size(), rows.size(), userId);
+        return ImportTransactionsResponse.builder()
+                .importBatchId(toInsert.isEmpty() ? null : importBatchId)
+                .requested(rows.size())
+                .created(toInsert.size())
+                .failed(rows.size() - toInsert.size())
+                .results(results)
+                .build();
+    }
+
+    private List<CreateTransactionRequest> resolveRows(ImportTransactionsRequest request, Long userId) {
+        if (request.getTransactions() != null && request.getUploadId() != null) {
+            throw new IllegalArgumentException("Provide either transactions or uploadId, not both");
+        }
+        if (request.getTransactions() != null) {
+            return request.getTransactions();
+        }
+        if (request.getUploadId() == null || request.getUploadId().isBlank()) {
+            throw new IllegalArgumentException("Either transactions or uploadId is required");
+        }
+
+        ParseJobResponse job = parseJobService.getJob(request.getUploadId(), userId);
+        if (job.getStatus() != ParseJob.Status.COMPLETED || job.getResult() == null) {
+            throw new IllegalArgumentException("Upload " + request.getUploadId() + " has not been parsed successfully");
+        }
+        List<TransactionRequest> parsed = job.getResult().getTransactions();
+        if (parsed == null) {
+            return List.of();
+        }
+        return parsed.stream().map(this::fromParsed).collect(Collectors.toList());
+    }
+
+    private CreateTransactionRequest fromParsed(TransactionRequest tx) {
+        // Parsers report credit/debit; anything unrecognised is left for validation to reject
+        String type = TransactionTypes.normalize(tx.getType());
+        return new CreateTransactionRequest(
+                tx.getAmount(),
+                type != null ? type : tx.getType(),
+                tx.getCategory() != null && !tx.getCategory().isBlank() ? tx.getCategory() : DEFAULT_CATEGORY,
+                tx.getDescription(),
+                tx.getPaymentMethod() != null ? tx.getPaymentMethod() : DEFAULT_PAYMENT_METHOD,
+                tx.getDate() != null ? tx.getDate().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+    }
+
+    private String validate(CreateTransactionRequest row) {
+        if (row == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
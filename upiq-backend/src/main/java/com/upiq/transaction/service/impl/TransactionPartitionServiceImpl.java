@@ -0,0 +1,226 @@
+package com.upiq.transaction.service.impl;
+
+import com.upiq.config.UserDataCache;
+import com.upiq.transaction.service.TransactionPartitionService;
+import com.upiq.transaction.service.TransactionRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs partition DDL on a plain autocommit connection: DETACH PARTITION CONCURRENTLY
+ * cannot run inside a transaction block, and neither step should hold locks any longer
+ * than the statement itself.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionPartitionServiceImpl implements TransactionPartitionService {
+
+    private static final String ENSURE_SQL = "SELECT ensure_transaction_partitions(?, ?)";
+    private static final String LIST_SQL = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'transactions'::regclass";
+    private static final String EXISTS_SQL = "SELECT to_regclass(?) IS NOT NULL";
+    // Detached rows leave no tombstones; moving purged_seq past the last change sends every
+    // client of an affected user back to a full reload, and moving last_seq changes the list ETag
+    private static final String RESYNC_SQL = "UPDATE user_change_counters c "
+            + "SET last_seq = c.last_seq + 1, purged_seq = c.last_seq + 1 "
+            + "FROM (SELECT DISTINCT user_id FROM %s) d WHERE c.user_id = d.user_id";
+    // An on-demand partition waits for readers of transactions; give up rather than queue writers behind it
+    private static final String LOCK_TIMEOUT_SQL = "SET LOCAL lock_timeout = '5s'";
+    // transactions_y2024 ends at 2025-01-01; transactions_before_2016 ends at 2016-01-01
+    private static final Pattern YEARLY = Pattern.compile("transactions_y(\\d{4})");
+    private static final Pattern BEFORE = Pattern.compile("transactions_before_(\\d{4})");
+
+    private final DataSource dataSource;
+    private final TransactionRollupService rollupService;
+    private final UserDataCache userDataCache;
+
+    @Value("${app.transactions.partitions.years-ahead:1}")
+    private int yearsAhead;
+
+    // 0 keeps every year attached
+    @Value("${app.transactions.partitions.retention-years:0}")
+    private int retentionYears;
+
+    // Years the attached partitions accept; reloaded after every partition change
+    private volatile Coverage coverage;
+
+    private record Coverage(Set<Integer> years, int beforeYear) {
+
+        boolean accepts(int year) {
+            return year < beforeYear || years.contains(year);
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.transactions.partitions.maintenance-cron:0 0 2 * * *}")
+    public void ensurePartitions() {
+        int currentYear = Year.now().getValue();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ensure = connection.prepareStatement(ENSURE_SQL)) {
+            connection.setAutoCommit(true);
+            ensure.setInt(1, currentYear);
+            ensure.setInt(2, currentYear + Math.max(0, yearsAhead));
+            try (ResultSet rs = ensure.executeQuery()) {
+                int created = rs.next() ? rs.getInt(1) : 0;
+                if (created > 0) {
+                    log.info("Created {} transaction partitions up to {}", created, currentYear + yearsAhead);
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Creating transaction partitions failed: {}", e.getMessage(), e);
+        }
+        if (retentionYears > 0) {
+            detachExpiredPartitions();
+        }
+        coverage = null;
+    }
+
+    @Override
+    public void ensurePartitionForYear(int year) {
+        Coverage current = coverage;
+        if (current != null && current.accepts(year)) {
+            return;
+        }
+        if (year > 9999) {
+            throw new IllegalArgumentException("Transaction date year " + year + " is out of range");
+        }
+        synchronized (this) {
+            try (Connection connection = dataSource.getConnection()) {
+                current = loadCoverage(connection);
+                if (current.accepts(year)) {
+                    return;
+                }
+                if (tableExists(connection, "transactions_y" + year)) {
+                    throw new IllegalArgumentException("Transactions dated in " + year + " have been archived");
+                }
+                connection.setAutoCommit(false);
+                try (Statement timeout = connection.createStatement();
+                     PreparedStatement ensure = connection.prepareStatement(ENSURE_SQL)) {
+                    timeout.execute(LOCK_TIMEOUT_SQL);
+                    ensure.setInt(1, year);
+                    ensure.setInt(2, year);
+                    ensure.executeQuery().close();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+                log.info("Created transaction partition for {} on demand", year);
+                loadCoverage(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not create a transaction partition for " + year
+                        + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public List<String> detachExpiredPartitions() {
+        List<String> detached = new ArrayList<>();
+        if (retentionYears <= 0) {
+            return detached;
+        }
+        // The current year always stays attached, whatever the retention says
+        int cutoffYear = Year.now().getValue() - retentionYears;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            for (String partition : listPartitions(connection)) {
+                Integer endYear = upperBoundYear(partition);
+                if (endYear == null || endYear > cutoffYear) {
+                    continue;
+                }
+                // Name comes from pg_class and matched one of the patterns above
+                try (Statement detach = connection.createStatement()) {
+                    detach.execute("ALTER TABLE transactions DETACH PARTITION " + partition + " CONCURRENTLY");
+                }
+                detached.add(partition);
+                int users;
+                try (Statement resync = connection.createStatement()) {
+                    users = resync.executeUpdate(RESYNC_SQL.formatted(partition));
+                }
+                log.info("Detached transaction partition {} (rows before {}-01-01); {} users must resync",
+                        partition, endYear, users);
+            }
+        } catch (SQLException e) {
+            log.error("Detaching transaction partitions failed after {}: {}", detached, e.getMessage(), e);
+        }
+        coverage = null;
+        if (!detached.isEmpty()) {
+            // The rollup and cached aggregates still count the detached rows
+            rollupService.rebuildAll();
+            userDataCache.invalidateAll();
+        }
+        return detached;
+    }
+
+    private List<String> listPartitions(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement list = connection.createStatement(); ResultSet rs = list.executeQuery(LIST_SQL)) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private Coverage loadCoverage(Connection connection) throws SQLException {
+        Set<Integer> years = new HashSet<>();
+        int beforeYear = Integer.MIN_VALUE;
+        for (String partition : listPartitions(connection)) {
+            Matcher yearly = YEARLY.matcher(partition);
+            if (yearly.matches()) {
+                years.add(Integer.parseInt(yearly.group(1)));
+                continue;
+            }
+            Matcher before = BEFORE.matcher(partition);
+            if (before.matches()) {
+                beforeYear = Integer.parseInt(before.group(1));
+            }
+        }
+        Coverage loaded = new Coverage(Set.copyOf(years), beforeYear);
+        coverage = loaded;
+        return loaded;
+    }
+
+    private static boolean tableExists(Connection connection, String name) throws SQLException {
+        try (PreparedStatement exists = connection.prepareStatement(EXISTS_SQL)) {
+            exists.setString(1, name);
+            try (ResultSet rs = exists.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static Integer upperBoundYear(String partition) {
+        Matcher yearly = YEARLY.matcher(partition);
+        if (yearly.matches()) {
+            return Integer.parseInt(yearly.group(1)) + 1;
+        }
+        Matcher before = BEFORE.matcher(partition);
+        if (before.matches()) {
+            return Integer.parseInt(before.group(1));
+        }
+        return null;
+    }
+}
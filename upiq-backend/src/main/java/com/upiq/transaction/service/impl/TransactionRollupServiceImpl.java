@@ -0,0 +1,115 @@
+package com.upiq.transaction.service.impl;
+
+import com.upiq.transaction.model.Transaction;
+import com.upiq.transaction.repository.TransactionRollupRepository;
+import com.upiq.transaction.repository.UserChangeCounterRepository;
+import com.upiq.transaction.service.TransactionRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionRollupServiceImpl implements TransactionRollupService {
+
+    private final TransactionRollupRepository rollupRepository;
+    private final UserChangeCounterRepository changeCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAdded(Transaction transaction) {
+        applyAdded(List.of(transaction));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAdded(Collection<Transaction> transactions) {
+        RollupDeltas deltas = new RollupDeltas();
+        for (Transaction t : transactions) {
+            deltas.add(t.getUserId(), t.getDate(), t.getCategoryId(), t.getType(), t.getAmountPaise(), 1);
+        }
+        flush(deltas);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyRemoved(Transaction transaction) {
+        RollupDeltas deltas = new RollupDeltas();
+        deltas.add(transaction.getUserId(), transaction.getDate(), transaction.getCategoryId(),
+                transaction.getType(), transaction.getAmountPaise(), -1);
+        flush(deltas);
+        rollupRepository.pruneEmpty(transaction.getUserId());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyUpdated(Transaction before, Transaction after) {
+        // Same key (only description/payment method/amount changed) nets out to one upsert
+        RollupDeltas deltas = new RollupDeltas();
+        deltas.add(before.getUserId(), before.getDate(), before.getCategoryId(), before.getType(),
+                before.getAmountPaise(), -1);
+        deltas.add(after.getUserId(), after.getDate(), after.getCategoryId(), after.getType(),
+                after.getAmountPaise(), 1);
+        flush(deltas);
+        rollupRepository.pruneEmpty(after.getUserId());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clearUser(Long userId) {
+        rollupRepository.deleteAllForUser(userId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pruneUser(Long userId) {
+        rollupRepository.pruneEmpty(userId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reassignCategory(Long userId, Long fromCategoryId, Long toCategoryId) {
+        rollupRepository.mergeCategory(userId, fromCategoryId, toCategoryId);
+        rollupRepository.deleteCategory(userId, fromCategoryId);
+    }
+
+    /**
+     * Recomputes every user's rollup from scratch, correcting any drift (e.g. rows
+     * changed outside the application). Each user is rebuilt in a short transaction of
+     * its own under that user's change-counter row lock, which every transaction write
+     * takes before its rollup delta: only that user's writers wait, and only while their
+     * rows are re-aggregated.
+     */
+    @Override
+    @Scheduled(cron = "${app.transactions.rollup.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<Long> userIds = rollupRepository.findUserIds();
+        for (Long userId : userIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                changeCounterRepository.lockByUserId(userId);
+                rollupRepository.deleteAllForUser(userId);
+                rollupRepository.insertFromTransactions(userId);
+            });
+        }
+        log.info("Rebuilt monthly rollup for {} users in {} ms", userIds.size(), System.currentTimeMillis() - start);
+    }
+
+    private void flush(RollupDeltas deltas) {
+        for (Map.Entry<RollupDeltas.Key, RollupDeltas.Delta> entry : deltas.nonZero()) {
+            RollupDeltas.Key key = entry.getKey();
+            rollupRepository.addDelta(key.userId(), key.monthStart(), key.categoryId(), key.type(),
+                    entry.getValue().totalPaise, entry.getValue().count);
+        }
+    }
+}
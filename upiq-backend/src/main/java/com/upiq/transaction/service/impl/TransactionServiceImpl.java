@@ -1,17 +1,41 @@
 package com.upiq.transaction.service.impl;
 
+import com.upiq.category.service.CategoryService;
+import com.upiq.config.UserDataCache;
+import com.upiq.transaction.dto.BulkDeleteResponse;
 import com.upiq.transaction.dto.CreateTransactionRequest;
+import com.upiq.transaction.dto.TransactionChangesResponse;
+import com.upiq.transaction.dto.TransactionFilter;
+import com.upiq.transaction.dto.TransactionPageResponse;
 import com.upiq.transaction.dto.TransactionResponse;
 import com.upiq.transaction.exceptions.TransactionNotFoundException;
 import com.upiq.transaction.model.Transaction;
+import com.upiq.transaction.model.TransactionTombstone;
+import com.upiq.transaction.model.UserChangeCounter;
 import com.upiq.transaction.repository.TransactionRepository;
+import com.upiq.transaction.repository.TransactionRow;
+import com.upiq.transaction.repository.TransactionSpecifications;
+import com.upiq.transaction.repository.TransactionTombstoneRepository;
+import com.upiq.transaction.repository.UserChangeCounterRepository;
+import com.upiq.transaction.service.TransactionPartitionService;
+import com.upiq.transaction.service.TransactionRollupService;
 import com.upiq.transaction.service.TransactionService;
+import com.upiq.transaction.utils.MoneyUtils;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,54 +45,215 @@ import java.util.stream.Collectors;
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository repository;
+    private final TransactionRollupService rollupService;
+    private final UserDataCache userDataCache;
+    private final TransactionTombstoneRepository tombstoneRepository;
+    private final UserChangeCounterRepository changeCounterRepository;
+    private final CategoryService categoryService;
+    private final EntityManager entityManager;
+    private final TransactionPartitionService partitionService;
+
+    @Value("${app.transactions.page.default-size:50}")
+    private int defaultPageSize;
+
+    // Open ends of a bulk-delete range
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    @Value("${app.transactions.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${app.transactions.sync.max-changes:1000}")
+    private int maxChanges;
+
+    @Value("${app.transactions.sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays;
 
     @Override
     public TransactionResponse addTransaction(CreateTransactionRequest request, Long userId) {
+        LocalDateTime date = RequestDates.parseOrNow(request.getDate());
+        // First, before this transaction locks anything a new partition would need
+        partitionService.ensurePartitionForYear(date.getYear());
         Transaction transaction = Transaction.builder()
-                .amount(request.getAmount())
-                .category(request.getCategory())
+                .amountPaise(MoneyUtils.toPaise(request.getAmount()))
+                .categoryId(categoryService.resolveCategoryId(userId, request.getCategory(), request.getType()))
                 .description(request.getDescription())
                 .type(request.getType())
                 .paymentMethod(request.getPaymentMethod())
                 .userId(userId)
+                .date(date)
                 .build();
 
-        if (request.getDate() != null && !request.getDate().isEmpty()) {
-            try {
-                // Support multiple formats: ISO with 'Z', without 'T', etc.
-                String dateStr = request.getDate().replace("Z", "");
-                if (!dateStr.contains("T") && dateStr.contains(" ")) {
-                    dateStr = dateStr.replace(" ", "T");
-                }
-                transaction.setDate(LocalDateTime.parse(dateStr));
-            } catch (Exception e) {
-                log.warn("Failed to parse date: {}, using current time", request.getDate());
-                transaction.setDate(LocalDateTime.now());
-            }
-        } else {
-            transaction.setDate(LocalDateTime.now());
-        }
         log.info("Adding new {} transaction for userId: {}, Amount: {}, Category: {}",
                 request.getType(), userId, request.getAmount(), request.getCategory());
-        transaction = repository.save(transaction);
+        transaction = repository.saveAndFlush(transaction);
+        // Pick up change_seq / updated_at stamped by the trigger; clients sync from them
+        entityManager.refresh(transaction);
+        rollupService.applyAdded(transaction);
+        invalidateCaches(userId);
         log.debug("Successfully created transaction with id: {}", transaction.getId());
-        return mapToResponse(transaction);
+        return mapToResponse(transaction, categoryService.getCategoryNames(userId));
     }
 
     @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<TransactionResponse> getUserTransactions(Long userId) {
-        List<Transaction> transactions = repository.findByUserIdOrderByDateDesc(userId);
-        return transactions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return userDataCache.get(userId, UserDataCache.Region.TRANSACTIONS, "all",
+                () -> mapRows(repository.findRowsByUserId(userId)));
+    }
+
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public long getCurrentChangeSeq(Long userId) {
+        return changeCounterRepository.findById(userId).map(UserChangeCounter::getLastSeq).orElse(0L);
+    }
+
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public long getCategoryVersion(Long userId) {
+        return changeCounterRepository.findById(userId).map(UserChangeCounter::getCategoryVersion).orElse(0L);
+    }
+
+    /**
+     * Rows and tombstones with since < change_seq <= the user's current counter, oldest
+     * first. Writers hold the counter row until they commit, so every sequence number up
+     * to the counter value read here is already visible and nothing is skipped.
+     */
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public TransactionChangesResponse getChanges(Long userId, long since, Integer limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        int max = limit == null ? maxChanges : Math.min(Math.max(limit, 1), maxChanges);
+        UserChangeCounter counter = changeCounterRepository.findById(userId).orElse(null);
+        long upTo = counter != null ? counter.getLastSeq() : 0;
+        long categoryVersion = counter != null ? counter.getCategoryVersion() : 0;
+
+        if (counter != null && since > 0 && since < counter.getPurgedSeq()) {
+            return TransactionChangesResponse.builder()
+                    .since(since)
+                    .nextSince(upTo)
+                    .resyncRequired(true)
+                    .categoryVersion(categoryVersion)
+                    .upserts(List.of())
+                    .deletedIds(List.of())
+                    .build();
+        }
+        if (since >= upTo) {
+            return TransactionChangesResponse.builder()
+                    .since(since)
+                    .nextSince(Math.max(since, upTo))
+                    .categoryVersion(categoryVersion)
+                    .upserts(List.of())
+                    .deletedIds(List.of())
+                    .build();
+        }
+
+        // Take up to max+1 of each kind, then merge by sequence number and cut at max
+        Limit fetch = Limit.of(max + 1);
+        List<TransactionRow> rows = repository.findChanges(userId, since, upTo, fetch);
+        List<TransactionTombstone> tombstones = tombstoneRepository.findChanges(userId, since, upTo, fetch);
+
+        List<TransactionResponse> upserts = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        int r = 0;
+        int t = 0;
+        long lastSeq = since;
+        while (upserts.size() + deletedIds.size() < max && (r < rows.size() || t < tombstones.size())) {
+            boolean takeRow = t >= tombstones.size()
+                    || (r < rows.size() && rows.get(r).changeSeq() < tombstones.get(t).getChangeSeq());
+            if (takeRow) {
+                TransactionRow row = rows.get(r++);
+                TransactionResponse upsert = mapToResponse(row);
+                // Clients resolve names from their category list, refreshed on a categoryVersion change
+                upsert.setCategory(null);
+                upserts.add(upsert);
+                lastSeq = row.changeSeq();
+            } else {
+                TransactionTombstone tombstone = tombstones.get(t++);
+                deletedIds.add(tombstone.getTransactionId());
+                lastSeq = tombstone.getChangeSeq();
+            }
+        }
+        boolean hasMore = r < rows.size() || t < tombstones.size();
+
+        return TransactionChangesResponse.builder()
+                .since(since)
+                .nextSince(hasMore ? lastSeq : upTo)
+                .hasMore(hasMore)
+                .categoryVersion(categoryVersion)
+                .upserts(upserts)
+                .deletedIds(deletedIds)
+                .build();
+    }
+
+    @Scheduled(cron = "${app.transactions.sync.tombstone-purge-cron:0 0 4 * * *}")
+    public void purgeTombstones() {
+        long purged = tombstoneRepository.purgeOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            log.info("Purged {} transaction tombstones older than {} days", purged, tombstoneRetentionDays);
+        }
+    }
+
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public TransactionPageResponse getUserTransactionsPage(Long userId, String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        // Fetch one extra row to learn whether another page exists without a COUNT.
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TransactionRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repository.findFirstPage(userId, limit);
+        } else {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            rows = repository.findPageAfter(userId, after.date, after.id, limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionRow last = rows.get(rows.size() - 1);
+            nextCursor = new TransactionCursor(last.date(), last.id()).encode();
+        }
+
+        return TransactionPageResponse.builder()
+                .items(mapRows(rows))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<TransactionResponse> getUserTransactionsByCategory(Long userId, String category) {
-        List<Transaction> transactions = repository.findByUserIdAndCategoryIgnoreCase(userId, category);
-        return transactions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        Long categoryId = categoryService.getCategoryIds(userId).get(category.trim().toLowerCase(Locale.ROOT));
+        if (categoryId == null) {
+            return List.of();
+        }
+        return mapRows(repository.findRowsByUserIdAndCategoryId(userId, categoryId));
+    }
+
+    /**
+     * Criteria queries return entities; the read-only transaction makes Hibernate load
+     * them read-only, so no dirty-checking snapshots are kept.
+     */
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public List<TransactionResponse> queryTransactions(Long userId, TransactionFilter filter) {
+        TransactionFilter criteria = filter != null ? filter : new TransactionFilter();
+        if (criteria.getDateFrom() != null && criteria.getDateTo() != null
+                && criteria.getDateFrom().isAfter(criteria.getDateTo())) {
+            throw new IllegalArgumentException("dateFrom must not be after dateTo");
+        }
+        List<Transaction> transactions = repository.findAll(
+                TransactionSpecifications.forUser(userId, criteria, categoryService.getCategoryIds(userId)),
+                Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id")));
+        return mapToResponses(userId, transactions);
     }
 
     @Override
@@ -82,10 +267,13 @@ public class TransactionServiceImpl implements TransactionService {
         }
         log.info("Deleting transaction with id: {} for userId: {}", id, userId);
         repository.delete(transaction);
+        rollupService.applyRemoved(transaction);
+        invalidateCaches(userId);
         log.debug("Transaction {} deleted successfully", id);
     }
 
     @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public TransactionResponse getById(Long id, Long userId) {
         Transaction transaction = repository.findById(id)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + id));
@@ -94,11 +282,17 @@ public class TransactionServiceImpl implements TransactionService {
         if (!transaction.getUserId().equals(userId)) {
             throw new RuntimeException("Unauthorized: You do not own this transaction");
         }
-        return mapToResponse(transaction);
+        return mapToResponse(transaction, categoryService.getCategoryNames(userId));
     }
 
     @Override
     public TransactionResponse updateTransaction(Long id, CreateTransactionRequest request, Long userId) {
+        LocalDateTime newDate = null;
+        if (request.getDate() != null && !request.getDate().isEmpty()) {
+            newDate = LocalDateTime.parse(request.getDate().replace("Z", ""));
+            partitionService.ensurePartitionForYear(newDate.getYear());
+        }
+
         Transaction transaction = repository.findById(id)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + id));
 
@@ -108,40 +302,129 @@ public class TransactionServiceImpl implements TransactionService {
             throw new RuntimeException("Unauthorized update attempt");
         }
 
-        transaction.setAmount(request.getAmount());
-        transaction.setCategory(request.getCategory());
+        // Snapshot the rollup key and amount before they are overwritten
+        Transaction before = Transaction.builder()
+                .userId(transaction.getUserId())
+                .amountPaise(transaction.getAmountPaise())
+                .type(transaction.getType())
+                .categoryId(transaction.getCategoryId())
+                .date(transaction.getDate())
+                .build();
+
+        transaction.setAmountPaise(MoneyUtils.toPaise(request.getAmount()));
+        transaction.setCategoryId(categoryService.resolveCategoryId(userId, request.getCategory(), request.getType()));
         transaction.setDescription(request.getDescription());
         transaction.setType(request.getType());
         transaction.setPaymentMethod(request.getPaymentMethod());
 
-        if (request.getDate() != null && !request.getDate().isEmpty()) {
-            String dateStr = request.getDate().replace("Z", "");
-            transaction.setDate(LocalDateTime.parse(dateStr));
+        if (newDate != null) {
+            transaction.setDate(newDate);
         }
 
         log.info("Updating transaction with id: {} for userId: {}", id, userId);
-        Transaction updated = repository.save(transaction);
+        Transaction updated = repository.saveAndFlush(transaction);
+        entityManager.refresh(updated);
+        rollupService.applyUpdated(before, updated);
+        invalidateCaches(userId);
         log.debug("Transaction {} updated successfully", id);
-        return mapToResponse(updated);
+        return mapToResponse(updated, categoryService.getCategoryNames(userId));
     }
 
     // ... end of updateTransaction method ...
 
     @Override
     public void deleteAllTransactions(Long userId) {
-        repository.deleteByUserId(userId);
+        int deleted = repository.deleteByUserId(userId);
+        rollupService.clearUser(userId);
+        invalidateCaches(userId);
+        log.info("Deleted all {} transactions for userId: {}", deleted, userId);
+    }
+
+    @Override
+    public BulkDeleteResponse deleteTransactions(Long userId, LocalDate from, LocalDate to, String category,
+            String importBatchId) {
+        boolean hasCategory = category != null && !category.isBlank();
+        boolean hasBatch = importBatchId != null && !importBatchId.isBlank();
+        // "Delete everything" has its own endpoint; refuse to do it by accident here
+        if (from == null && to == null && !hasCategory && !hasBatch) {
+            throw new IllegalArgumentException("At least one of from, to, category or importBatchId is required");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        Long categoryId = null;
+        if (hasCategory) {
+            categoryId = categoryService.getCategoryIds(userId).get(category.trim().toLowerCase(Locale.ROOT));
+            if (categoryId == null) {
+                return BulkDeleteResponse.builder().deleted(0).build();
+            }
+        }
+
+        // The statement adjusts the rollup before its delete triggers lock the change counter;
+        // take that lock first so it is ordered like every other writer and a rollup rebuild
+        changeCounterRepository.lockByUserId(userId);
+        long deleted = repository.deleteMatching(userId,
+                from != null ? from.atStartOfDay() : EARLIEST,
+                to != null ? to.plusDays(1).atStartOfDay() : LATEST,
+                categoryId,
+                hasBatch ? importBatchId.trim() : null);
+        if (deleted > 0) {
+            rollupService.pruneUser(userId);
+            invalidateCaches(userId);
+        }
+        log.info("Bulk deleted {} transactions for userId: {}", deleted, userId);
+        return BulkDeleteResponse.builder().deleted(deleted).build();
+    }
+
+    private void invalidateCaches(Long userId) {
+        userDataCache.invalidate(userId, UserDataCache.Region.TRANSACTIONS, UserDataCache.Region.SUMMARY);
+    }
+
+    private List<TransactionResponse> mapRows(List<TransactionRow> rows) {
+        return rows.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    private TransactionResponse mapToResponse(TransactionRow row) {
+        return TransactionResponse.builder()
+                .id(row.id())
+                .userId(row.userId())
+                .amount(MoneyUtils.toRupees(row.amountPaise()))
+                .type(row.type())
+                .categoryId(row.categoryId())
+                .category(row.category())
+                .description(row.description())
+                .date(row.date())
+                .paymentMethod(row.paymentMethod())
+                .importBatchId(row.importBatchId())
+                .updatedAt(row.updatedAt())
+                .changeSeq(row.changeSeq())
+                .build();
+    }
+
+    private List<TransactionResponse> mapToResponses(Long userId, List<Transaction> transactions) {
+        Map<Long, String> categoryNames = categoryService.getCategoryNames(userId);
+        return transactions.stream()
+                .map(t -> mapToResponse(t, categoryNames))
+                .collect(Collectors.toList());
     }
 
-    private TransactionResponse mapToResponse(Transaction transaction) {
+    private TransactionResponse mapToResponse(Transaction transaction, Map<Long, String> categoryNames) {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .userId(transaction.getUserId())
-                .amount(transaction.getAmount())
+                .amount(MoneyUtils.toRupees(transaction.getAmountPaise()))
                 .type(transaction.getType())
-                .category(transaction.getCategory())
+                .categoryId(transaction.getCategoryId())
+                .category(categoryNames.get(transaction.getCategoryId()))
                 .description(transaction.getDescription())
                 .date(transaction.getDate())
                 .paymentMethod(transaction.getPaymentMethod())
+                .importBatchId(transaction.getImportBatchId())
+                .updatedAt(transaction.getUpdatedAt())
+                .changeSeq(transaction.getChangeSeq())
                 .build();
     }
 }
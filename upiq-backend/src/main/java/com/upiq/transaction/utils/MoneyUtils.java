@@ -0,0 +1,55 @@
+package com.upiq.transaction.utils;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between rupee amounts at the JSON boundary and the paise ({@code long})
+ * used in storage and arithmetic. Rupees are rounded half-up to two places.
+ */
+public final class MoneyUtils {
+
+    /** Largest amount accepted either way (₹1 lakh crore); far inside what paise in a long can hold. */
+    public static final String MAX_RUPEES = "1000000000000";
+
+    public static final String AMOUNT_RANGE_MESSAGE = "Amount must be between -" + MAX_RUPEES + " and " + MAX_RUPEES;
+
+    // PostgreSQL casts float8 to numeric at 15 significant digits (DBL_DIG); V8 converted
+    // the existing rows that way, so new writes must too or the same rupee value could
+    // land one paisa apart
+    private static final MathContext FLOAT8_DIGITS = new MathContext(15, RoundingMode.HALF_EVEN);
+
+    private static final BigDecimal MAX_DECIMAL = new BigDecimal(MAX_RUPEES);
+
+    private MoneyUtils() {
+    }
+
+    public static long toPaise(double rupees) {
+        if (!Double.isFinite(rupees)) {
+            throw new IllegalArgumentException("Amount must be a finite number");
+        }
+        // Same as ROUND(CAST(amount AS numeric) * 100); the 15-digit step also drops 0.1 + 0.2 style noise
+        BigDecimal amount = new BigDecimal(rupees).round(FLOAT8_DIGITS);
+        if (amount.abs().compareTo(MAX_DECIMAL) > 0) {
+            throw new IllegalArgumentException(AMOUNT_RANGE_MESSAGE);
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public static long toPaise(Double rupees) {
+        if (rupees == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        return toPaise(rupees.doubleValue());
+    }
+
+    public static double toRupees(long paise) {
+        return paise / 100.0;
+    }
+
+    /** Exact decimal form for text output, e.g. 12345 -> 123.45. */
+    public static BigDecimal toDecimal(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
@@ -0,0 +1,28 @@
+package com.upiq.transaction.utils;
+
+import java.util.Locale;
+
+/**
+ * Maps the parsers' "credit"/"debit" onto the "income"/"expense" types that transactions
+ * are stored and summarised under.
+ */
+public final class TransactionTypes {
+
+    public static final String INCOME = "income";
+    public static final String EXPENSE = "expense";
+
+    private TransactionTypes() {
+    }
+
+    /** "income" or "expense" for any of income/expense/credit/debit (any case); otherwise null. */
+    public static String normalize(String type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type.trim().toLowerCase(Locale.ROOT)) {
+            case "income", "credit" -> INCOME;
+            case "expense", "debit" -> EXPENSE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,119 @@
+-- Range-partition transactions by year on date. Date-bounded queries (summaries,
+-- breakdowns, bulk deletes, keyset pages) only touch the partitions in range, each
+-- partition is vacuumed and indexed on its own, and old years can be detached
+-- (ALTER TABLE ... DETACH PARTITION ... CONCURRENTLY) without locking out writers.
+--
+-- Layout: transactions_yYYYY holds [YYYY-01-01, YYYY+1-01-01); transactions_before_YYYY
+-- holds everything earlier than the first yearly partition. Future years are created
+-- by ensure_transaction_partitions(), called from TransactionPartitionServiceImpl.
+-- There is deliberately no DEFAULT partition: it would rule out DETACH CONCURRENTLY.
+-- Requires PostgreSQL 13+ (row-level BEFORE triggers on partitioned tables).
+
+-- The id sequence is owned by the old table's column; keep it alive across the drop
+ALTER SEQUENCE transactions_seq OWNED BY NONE;
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+CREATE TABLE transactions (
+    id              BIGINT       NOT NULL DEFAULT nextval('transactions_seq'),
+    user_id         BIGINT       NOT NULL,
+    amount_paise    BIGINT       NOT NULL,
+    type            VARCHAR(255) NOT NULL,
+    category_id     BIGINT       NOT NULL,
+    description     VARCHAR(255),
+    date            TIMESTAMP(6) NOT NULL,
+    payment_method  VARCHAR(255),
+    import_batch_id VARCHAR(36),
+    updated_at      TIMESTAMP(6) NOT NULL DEFAULT now(),
+    change_seq      BIGINT       NOT NULL DEFAULT 0
+) PARTITION BY RANGE (date);
+
+ALTER SEQUENCE transactions_seq OWNED BY transactions.id;
+
+-- Creates the missing yearly partitions for p_from_year..p_to_year; returns how many.
+-- A year whose partition was detached for archiving is not recreated.
+CREATE OR REPLACE FUNCTION ensure_transaction_partitions(p_from_year INT, p_to_year INT) RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    y       INT;
+    created INT := 0;
+BEGIN
+    FOR y IN p_from_year..p_to_year LOOP
+        IF to_regclass('transactions_y' || y) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                           'transactions_y' || y, make_date(y, 1, 1), make_date(y + 1, 1, 1));
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END
+$$;
+
+-- Yearly partitions for up to ten years of existing history plus next year;
+-- anything older shares one catch-all partition.
+DO $$
+DECLARE
+    current_year INT := EXTRACT(YEAR FROM now());
+    first_year   INT;
+BEGIN
+    SELECT GREATEST(COALESCE(CAST(EXTRACT(YEAR FROM MIN(date)) AS INT), current_year), current_year - 10)
+    INTO first_year
+    FROM transactions_unpartitioned;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (MINVALUE) TO (%L)',
+                   'transactions_before_' || first_year, make_date(first_year, 1, 1));
+    PERFORM ensure_transaction_partitions(first_year, current_year + 1);
+END
+$$;
+
+-- Copy before the triggers exist so change_seq / updated_at are carried over as they are
+INSERT INTO transactions (id, user_id, amount_paise, type, category_id, description, date,
+                          payment_method, import_batch_id, updated_at, change_seq)
+SELECT id, user_id, amount_paise, type, category_id, description, date,
+       payment_method, import_batch_id, updated_at, change_seq
+FROM transactions_unpartitioned;
+
+-- Takes its indexes, FK and triggers with it, freeing their names
+DROP TABLE transactions_unpartitioned;
+
+-- Unique constraints on a partitioned table must include the partition key. Ids still
+-- come from one sequence, so they stay unique across partitions.
+ALTER TABLE transactions ADD CONSTRAINT transactions_pkey PRIMARY KEY (id, date);
+
+ALTER TABLE transactions
+    ADD CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id);
+
+-- Same indexes as before; created on the parent, they cascade to every partition
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, date DESC, id DESC);
+CREATE INDEX idx_transactions_user_category_id_date ON transactions (user_id, category_id, date);
+CREATE INDEX idx_transactions_description_trgm ON transactions USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX idx_transactions_user_import_batch ON transactions (user_id, import_batch_id)
+    WHERE import_batch_id IS NOT NULL;
+CREATE INDEX idx_transactions_user_change_seq ON transactions (user_id, change_seq);
+
+-- An UPDATE that changes the year moves the row between partitions, which runs the
+-- AFTER DELETE trigger even though the row lives on. Only record a tombstone when the
+-- id is really gone, or sync clients would drop a live row.
+CREATE OR REPLACE FUNCTION transactions_record_tombstone() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM transactions WHERE id = OLD.id) THEN
+        RETURN OLD;
+    END IF;
+    INSERT INTO transaction_tombstones (transaction_id, user_id, change_seq, deleted_at)
+    VALUES (OLD.id, OLD.user_id, next_change_seq(OLD.user_id), now())
+    ON CONFLICT (transaction_id) DO UPDATE
+        SET change_seq = EXCLUDED.change_seq, deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END
+$$;
+
+CREATE TRIGGER transactions_stamp_change
+    BEFORE INSERT OR UPDATE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION transactions_stamp_change();
+
+CREATE TRIGGER transactions_record_tombstone
+    AFTER DELETE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION transactions_record_tombstone();
+
+ANALYZE transactions;
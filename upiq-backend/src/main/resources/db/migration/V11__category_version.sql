@@ -0,0 +1,5 @@
+-- Transactions carry only category_id, so renaming or deleting a category changes what
+-- a listing shows without touching any change_seq. This per-user counter is bumped on
+-- those writes and goes into the listing ETag and the /changes response.
+ALTER TABLE user_change_counters
+    ADD COLUMN IF NOT EXISTS category_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,111 @@
+-- Change tracking per statement instead of per row. The V7/V10 row triggers upserted the
+-- user's counter row for every inserted, updated or deleted transaction and wrote each
+-- tombstone on its own, so a 100k-row COPY or set-based DELETE also meant 100k updates of
+-- one counter row inside a single transaction.
+--
+-- change_seq lives on the row, so a BEFORE ROW trigger still stamps it, but it now takes
+-- numbers from a transaction-local setting: the counter row is locked (not written) on the
+-- first write for a user in a transaction and held until commit, which keeps each user's
+-- numbers visible in order as before. AFTER STATEMENT triggers then publish the numbers a
+-- statement used with one counter UPDATE per user, and a DELETE reserves its range and
+-- writes all of its tombstones with one INSERT ... SELECT. A DELETE that leaves the user
+-- with no transactions raises purged_seq instead, so clients resync rather than receive a
+-- tombstone per row.
+
+-- Last change number handed out to the user in this transaction
+CREATE OR REPLACE FUNCTION current_change_seq(p_user_id BIGINT) RETURNS BIGINT
+LANGUAGE plpgsql AS $$
+DECLARE
+    taken TEXT := current_setting('upiq.change_seq_' || p_user_id, true);
+    seq   BIGINT;
+BEGIN
+    IF taken IS NOT NULL AND taken <> '' THEN
+        RETURN CAST(taken AS BIGINT);
+    END IF;
+    INSERT INTO user_change_counters (user_id, last_seq) VALUES (p_user_id, 0)
+    ON CONFLICT (user_id) DO NOTHING;
+    SELECT last_seq INTO seq FROM user_change_counters WHERE user_id = p_user_id FOR UPDATE;
+    PERFORM set_config('upiq.change_seq_' || p_user_id, CAST(seq AS TEXT), true);
+    RETURN seq;
+END
+$$;
+
+-- Hands out p_count consecutive numbers and returns the first; the counter row itself is
+-- only moved by the statement triggers below
+CREATE OR REPLACE FUNCTION take_change_seq(p_user_id BIGINT, p_count BIGINT) RETURNS BIGINT
+LANGUAGE plpgsql AS $$
+DECLARE
+    last_taken BIGINT := current_change_seq(p_user_id) + p_count;
+BEGIN
+    PERFORM set_config('upiq.change_seq_' || p_user_id, CAST(last_taken AS TEXT), true);
+    RETURN last_taken - p_count + 1;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION transactions_stamp_change() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.change_seq := take_change_seq(NEW.user_id, 1);
+    NEW.updated_at := now();
+    RETURN NEW;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION transactions_publish_changes() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE user_change_counters c
+    SET last_seq = s.max_seq
+    FROM (SELECT user_id, MAX(change_seq) AS max_seq FROM changed_rows GROUP BY user_id) s
+    WHERE c.user_id = s.user_id AND c.last_seq < s.max_seq;
+    RETURN NULL;
+END
+$$;
+
+-- Statement-level DELETE triggers do not fire when an UPDATE moves a row to another
+-- partition, so unlike the V10 row trigger this needs no check that the id is gone
+CREATE OR REPLACE FUNCTION transactions_record_tombstones() RETURNS trigger
+LANGUAGE plpgsql AS $$
+DECLARE
+    u     RECORD;
+    first BIGINT;
+BEGIN
+    FOR u IN SELECT user_id, COUNT(*) AS n FROM deleted_rows GROUP BY user_id LOOP
+        IF NOT EXISTS (SELECT 1 FROM transactions WHERE user_id = u.user_id) THEN
+            first := take_change_seq(u.user_id, 1);
+            UPDATE user_change_counters SET last_seq = first, purged_seq = first WHERE user_id = u.user_id;
+            DELETE FROM transaction_tombstones WHERE user_id = u.user_id;
+        ELSE
+            first := take_change_seq(u.user_id, u.n);
+            INSERT INTO transaction_tombstones (transaction_id, user_id, change_seq, deleted_at)
+            SELECT id, user_id, first - 1 + row_number() OVER (ORDER BY id), now()
+            FROM deleted_rows
+            WHERE user_id = u.user_id
+            ON CONFLICT (transaction_id) DO UPDATE
+                SET change_seq = EXCLUDED.change_seq, deleted_at = EXCLUDED.deleted_at;
+            UPDATE user_change_counters SET last_seq = first - 1 + u.n WHERE user_id = u.user_id;
+        END IF;
+    END LOOP;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS transactions_record_tombstone ON transactions;
+DROP FUNCTION IF EXISTS transactions_record_tombstone();
+DROP FUNCTION IF EXISTS next_change_seq(BIGINT);
+
+-- Transition tables allow one event per trigger
+CREATE TRIGGER transactions_publish_inserts
+    AFTER INSERT ON transactions
+    REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION transactions_publish_changes();
+
+CREATE TRIGGER transactions_publish_updates
+    AFTER UPDATE ON transactions
+    REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION transactions_publish_changes();
+
+CREATE TRIGGER transactions_record_tombstones
+    AFTER DELETE ON transactions
+    REFERENCING OLD TABLE AS deleted_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION transactions_record_tombstones();
@@ -0,0 +1,37 @@
+-- Baseline: the schema Hibernate's ddl-auto created before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and skip this script; fresh databases get the same tables from it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username        VARCHAR(255) UNIQUE,
+    email           VARCHAR(255) NOT NULL UNIQUE,
+    password        VARCHAR(255) NOT NULL,
+    full_name       VARCHAR(255),
+    role            VARCHAR(255) CHECK (role IN ('USER', 'ADMIN')),
+    created_at      TIMESTAMP(6) NOT NULL,
+    active          BOOLEAN      NOT NULL,
+    last_login_ip   VARCHAR(255),
+    last_login_at   TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            VARCHAR(255) NOT NULL,
+    type            VARCHAR(255) NOT NULL,
+    description     VARCHAR(255),
+    color           VARCHAR(255),
+    icon            VARCHAR(255),
+    user_id         BIGINT       NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT       NOT NULL,
+    amount          FLOAT(53)    NOT NULL,
+    type            VARCHAR(255) NOT NULL,
+    category        VARCHAR(255) NOT NULL,
+    description     VARCHAR(255),
+    date            TIMESTAMP(6) NOT NULL,
+    payment_method  VARCHAR(255)
+);
@@ -0,0 +1,24 @@
+-- Move ids from IDENTITY columns to sequences that Hibernate's pooled optimizer can use
+-- (allocationSize = 50), so JDBC insert batching is no longer disabled.
+--
+-- With the pooled optimizer a sequence value v hands out ids (v - 49 .. v), so each
+-- sequence must start at least 50 above the current max id. The column default keeps
+-- plain SQL inserts working: such a row takes id v and simply wastes that block.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
+
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY 50;
+SELECT setval('categories_seq', COALESCE((SELECT MAX(id) FROM categories), 0) + 50, false);
+ALTER TABLE categories ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE categories ALTER COLUMN id SET DEFAULT nextval('categories_seq');
+ALTER SEQUENCE categories_seq OWNED BY categories.id;
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50;
+SELECT setval('transactions_seq', COALESCE((SELECT MAX(id) FROM transactions), 0) + 50, false);
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE transactions ALTER COLUMN id SET DEFAULT nextval('transactions_seq');
+ALTER SEQUENCE transactions_seq OWNED BY transactions.id;
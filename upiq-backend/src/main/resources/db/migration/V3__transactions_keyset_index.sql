@@ -0,0 +1,4 @@
+-- Backs keyset pagination of a user's history: WHERE user_id = ? AND (date, id) < (?, ?)
+-- ORDER BY date DESC, id DESC LIMIT n is a single index range scan for every page.
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id
+    ON transactions (user_id, date DESC, id DESC);
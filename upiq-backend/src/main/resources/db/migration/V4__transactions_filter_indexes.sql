@@ -0,0 +1,13 @@
+-- Indexes for the filtered query API (TransactionSpecifications).
+-- Date range filters on (user_id, date DESC) use the leading columns of
+-- idx_transactions_user_date_id from V3, so no separate index is added for them.
+
+-- Category filters and the by-category listing compare lower(category).
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category_date
+    ON transactions (user_id, lower(category), date);
+
+-- "Description contains" is a leading-wildcard LIKE; only a trigram index can serve it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_description_trgm
+    ON transactions USING gin (lower(description) gin_trgm_ops);
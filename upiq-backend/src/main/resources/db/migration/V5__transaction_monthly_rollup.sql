@@ -0,0 +1,17 @@
+-- Per-user monthly totals, maintained incrementally by TransactionRollupService and
+-- rebuilt from transactions on a schedule. type is stored lower-cased.
+CREATE TABLE IF NOT EXISTS transaction_monthly_rollup (
+    user_id     BIGINT       NOT NULL,
+    month_start DATE         NOT NULL,
+    category    VARCHAR(255) NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    total       FLOAT(53)    NOT NULL,
+    tx_count    BIGINT       NOT NULL,
+    PRIMARY KEY (user_id, month_start, category, type)
+);
+
+INSERT INTO transaction_monthly_rollup (user_id, month_start, category, type, total, tx_count)
+SELECT user_id, CAST(date_trunc('month', date) AS date), category, lower(type), SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY 1, 2, 3, 4
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,6 @@
+-- Tags rows created by one import / bulk ingest call so they can be removed together.
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS import_batch_id VARCHAR(36);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_import_batch
+    ON transactions (user_id, import_batch_id)
+    WHERE import_batch_id IS NOT NULL;
@@ -0,0 +1,72 @@
+-- Delta sync: every insert/update of a transaction and every delete gets the next
+-- per-user change sequence number. Triggers do the stamping so all write paths (JPA,
+-- COPY bulk ingest, set-based deletes) are covered. The counter row is locked until
+-- commit, so one user's sequence numbers become visible in order.
+
+CREATE TABLE IF NOT EXISTS user_change_counters (
+    user_id    BIGINT PRIMARY KEY,
+    last_seq   BIGINT NOT NULL,
+    purged_seq BIGINT NOT NULL DEFAULT 0  -- tombstones up to here were purged; older clients must resync
+);
+
+CREATE TABLE IF NOT EXISTS transaction_tombstones (
+    transaction_id BIGINT PRIMARY KEY,
+    user_id        BIGINT       NOT NULL,
+    change_seq     BIGINT       NOT NULL,
+    deleted_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_tombstones_user_seq
+    ON transaction_tombstones (user_id, change_seq);
+
+ALTER TABLE transactions
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- Number existing rows per user before the triggers exist
+UPDATE transactions t
+SET change_seq = n.seq
+FROM (SELECT id, row_number() OVER (PARTITION BY user_id ORDER BY id) AS seq FROM transactions) n
+WHERE t.id = n.id;
+
+INSERT INTO user_change_counters (user_id, last_seq)
+SELECT user_id, MAX(change_seq) FROM transactions GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_change_seq
+    ON transactions (user_id, change_seq);
+
+CREATE OR REPLACE FUNCTION next_change_seq(p_user_id BIGINT) RETURNS BIGINT
+LANGUAGE sql AS $$
+    INSERT INTO user_change_counters (user_id, last_seq) VALUES (p_user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET last_seq = user_change_counters.last_seq + 1
+    RETURNING last_seq
+$$;
+
+CREATE OR REPLACE FUNCTION transactions_stamp_change() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.change_seq := next_change_seq(NEW.user_id);
+    NEW.updated_at := now();
+    RETURN NEW;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION transactions_record_tombstone() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO transaction_tombstones (transaction_id, user_id, change_seq, deleted_at)
+    VALUES (OLD.id, OLD.user_id, next_change_seq(OLD.user_id), now())
+    ON CONFLICT (transaction_id) DO UPDATE
+        SET change_seq = EXCLUDED.change_seq, deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END
+$$;
+
+CREATE TRIGGER transactions_stamp_change
+    BEFORE INSERT OR UPDATE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION transactions_stamp_change();
+
+CREATE TRIGGER transactions_record_tombstone
+    AFTER DELETE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION transactions_record_tombstone();
@@ -0,0 +1,18 @@
+-- Money becomes an exact integer count of paise instead of float8 rupees.
+-- ALTER ... TYPE rewrites the table; it is not an UPDATE, so the change-tracking
+-- trigger does not fire and sync clients are not told every row changed.
+ALTER TABLE transactions
+    ALTER COLUMN amount TYPE BIGINT USING ROUND(CAST(amount AS numeric) * 100);
+ALTER TABLE transactions RENAME COLUMN amount TO amount_paise;
+
+-- Rebuild the rollup from the converted rows rather than converting summed floats
+ALTER TABLE transaction_monthly_rollup
+    ALTER COLUMN total TYPE BIGINT USING ROUND(CAST(total AS numeric) * 100);
+ALTER TABLE transaction_monthly_rollup RENAME COLUMN total TO total_paise;
+
+DELETE FROM transaction_monthly_rollup;
+
+INSERT INTO transaction_monthly_rollup (user_id, month_start, category, type, total_paise, tx_count)
+SELECT user_id, CAST(date_trunc('month', date) AS date), category, lower(type), SUM(amount_paise), COUNT(*)
+FROM transactions
+GROUP BY 1, 2, 3, 4;
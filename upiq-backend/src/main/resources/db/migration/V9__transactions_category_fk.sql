@@ -0,0 +1,62 @@
+-- Transactions reference categories by id instead of repeating the name on every row.
+-- Renaming a category becomes a single-row update and category filters / GROUP BYs
+-- work on an integer key.
+
+-- Category names become unique per user (ignoring case). Nothing references categories
+-- yet, so duplicates can simply be dropped in favour of the oldest row.
+DELETE FROM categories c
+USING categories keep
+WHERE c.user_id = keep.user_id
+  AND lower(c.name) = lower(keep.name)
+  AND c.id > keep.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_categories_user_name ON categories (user_id, lower(name));
+
+-- Every name a user has typed on a transaction gets a category (first spelling wins)
+INSERT INTO categories (name, type, user_id)
+SELECT DISTINCT ON (t.user_id, lower(t.category))
+       t.category,
+       CASE WHEN lower(t.type) IN ('income', 'expense') THEN lower(t.type) ELSE 'expense' END,
+       t.user_id
+FROM transactions t
+WHERE NOT EXISTS (
+    SELECT 1 FROM categories c WHERE c.user_id = t.user_id AND lower(c.name) = lower(t.category)
+)
+ORDER BY t.user_id, lower(t.category), t.id
+ON CONFLICT DO NOTHING;
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS category_id BIGINT;
+
+-- Re-keying is not a user-visible change; keep it out of the delta sync feed
+ALTER TABLE transactions DISABLE TRIGGER transactions_stamp_change;
+
+UPDATE transactions t
+SET category_id = c.id
+FROM categories c
+WHERE c.user_id = t.user_id AND lower(c.name) = lower(t.category);
+
+ALTER TABLE transactions ENABLE TRIGGER transactions_stamp_change;
+
+ALTER TABLE transactions ALTER COLUMN category_id SET NOT NULL;
+
+-- No ON DELETE action: CategoryServiceImpl moves rows to "Uncategorized" before deleting
+ALTER TABLE transactions
+    ADD CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id);
+
+DROP INDEX IF EXISTS idx_transactions_user_category_date;
+ALTER TABLE transactions DROP COLUMN category;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category_id_date
+    ON transactions (user_id, category_id, date);
+
+-- Rollup is keyed by category id too, so renames don't touch it either
+ALTER TABLE transaction_monthly_rollup DROP CONSTRAINT transaction_monthly_rollup_pkey;
+ALTER TABLE transaction_monthly_rollup DROP COLUMN category;
+DELETE FROM transaction_monthly_rollup;
+ALTER TABLE transaction_monthly_rollup ADD COLUMN category_id BIGINT NOT NULL;
+ALTER TABLE transaction_monthly_rollup ADD PRIMARY KEY (user_id, month_start, category_id, type);
+
+INSERT INTO transaction_monthly_rollup (user_id, month_start, category_id, type, total_paise, tx_count)
+SELECT user_id, CAST(date_trunc('month', date) AS date), category_id, lower(type), SUM(amount_paise), COUNT(*)
+FROM transactions
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,61 @@
+package com.upiq.pdf.parser;
+
+import com.upiq.pdf.dto.TransactionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PaytmStatementParserTest {
+
+    private final PaytmStatementParser parser = new PaytmStatementParser();
+
+    @Test
+    void datesRowsInsideAPeriodThatSpansNewYear() {
+        List<TransactionRequest> rows = parse("""
+                Paytm Statement
+                Statement period 15 Dec 2024 - 14 Jan 2025
+                10 Jan 10:32 AM Paid to Swiggy
+                UPI Ref No: 527412345678 - Rs.250
+                20 Dec 9:00 AM Received from Ravi
+                UPI Ref No: 527412345679 + Rs.500
+                """);
+
+        assertEquals(LocalDateTime.of(2025, 1, 10, 10, 32), rows.get(0).getDate());
+        assertEquals(LocalDateTime.of(2024, 12, 20, 9, 0), rows.get(1).getDate());
+    }
+
+    @Test
+    void rollsTheYearForwardInAnOldestFirstStatement() {
+        List<TransactionRequest> rows = parse("""
+                Paytm Statement
+                28 Dec 2024 10:32 AM Paid to A - Rs.1
+                31 Dec 9:00 AM Paid to B - Rs.2
+                2 Jan 9:00 AM Paid to C - Rs.3
+                """);
+
+        assertEquals(2024, rows.get(1).getDate().getYear());
+        assertEquals(2025, rows.get(2).getDate().getYear());
+    }
+
+    @Test
+    void rollsTheYearBackInANewestFirstStatement() {
+        List<TransactionRequest> rows = parse("""
+                Paytm Statement
+                Generated on 05 Jan 2025
+                2 Jan 9:00 AM Paid to C - Rs.3
+                31 Dec 9:00 AM Paid to B - Rs.2
+                """);
+
+        assertEquals(LocalDateTime.of(2025, 1, 2, 9, 0), rows.get(0).getDate());
+        assertEquals(LocalDateTime.of(2024, 12, 31, 9, 0), rows.get(1).getDate());
+    }
+
+    private List<TransactionRequest> parse(String text) {
+        StatementParser.Session session = parser.newSession();
+        session.accept(text);
+        return session.finish();
+    }
+}
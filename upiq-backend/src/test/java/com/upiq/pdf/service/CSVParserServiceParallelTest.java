@@ -0,0 +1,174 @@
+package com.upiq.pdf.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upiq.pdf.dto.ParsingResponse;
+import com.upiq.pdf.dto.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The chunked parser must give the same {@link ParsingResponse} as the streaming one,
+ * down to row order, on a file with quoted embedded newlines, CRLF line endings, blank
+ * lines and unparseable rows on both sides of a chunk boundary.
+ */
+class CSVParserServiceParallelTest {
+
+    private static final String HEADER = "Date,Description,Amount,Type,Mode\r\n";
+    private static final int ROWS = 2_000;
+    private static final int CHUNKS = 4;
+
+    private final TransactionMappingService mappingService = new TransactionMappingService();
+    private final ForkJoinPool sequentialPool = new ForkJoinPool(1);
+    private final ForkJoinPool parallelPool = new ForkJoinPool(CHUNKS);
+
+    @AfterEach
+    void tearDown() {
+        sequentialPool.shutdown();
+        parallelPool.shutdown();
+    }
+
+    @Test
+    void chunkedParseMatchesStreamingParse() throws IOException {
+        List<String> records = records();
+        int lastOfFirstChunk = breakRowsAroundFirstBoundary(records, CHUNKS);
+        MultipartFile file = csv(records);
+
+        List<Long> boundaries = boundaries(file, CHUNKS);
+        assertEquals(CHUNKS + 1, boundaries.size());
+        assertEquals(offsetAfter(records, lastOfFirstChunk), boundaries.get(1));
+
+        CSVParserService sequential = new CSVParserService(mappingService, sequentialPool);
+        CSVParserService parallel = new CSVParserService(mappingService, parallelPool);
+        ReflectionTestUtils.setField(parallel, "parallelMinBytes", 0L);
+
+        ParsingResponse expected = parserService(sequential).parseFile(file);
+        assertEquals(ROWS - 2, expected.getSuccessfulParses());
+        assertSameResponse(expected, parserService(parallel).parseFile(file));
+    }
+
+    @Test
+    void singleChunkParseMatchesStreamingParse() throws IOException {
+        List<String> records = records();
+        breakRowsAroundFirstBoundary(records, 1);
+        MultipartFile file = csv(records);
+
+        assertEquals(List.of((long) HEADER.length(), file.getSize()), boundaries(file, 1));
+
+        CSVParserService sequential = new CSVParserService(mappingService, sequentialPool);
+        CSVParserService oneChunk = new CSVParserService(mappingService, parallelPool) {
+            @Override
+            public List<TransactionRequest> parseCSV(MultipartFile file, ParseProgressListener listener) {
+                return parseCSVInParallel(file, listener, 1);
+            }
+        };
+
+        ParsingResponse expected = parserService(sequential).parseFile(file);
+        assertEquals(ROWS - 1, expected.getSuccessfulParses());
+        assertSameResponse(expected, parserService(oneChunk).parseFile(file));
+    }
+
+    private static void assertSameResponse(ParsingResponse expected, ParsingResponse actual) {
+        assertEquals(expected.getTotalTransactions(), actual.getTotalTransactions());
+        assertEquals(expected.getSuccessfulParses(), actual.getSuccessfulParses());
+        assertEquals(expected.getFailedParses(), actual.getFailedParses());
+        assertEquals(expected.getErrors(), actual.getErrors());
+        assertEquals(expected.getTransactions(), actual.getTransactions());
+    }
+
+    /*
+     * Every description ends in a quoted line break, late enough in the record that most
+     * chunk targets fall before it, so a split that ignored quotes would cut a record in
+     * two. Every tenth record is followed by a blank line.
+     */
+    private static List<String> records() {
+        Random random = new Random(7);
+        List<String> records = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            String store = i % 3 == 0 ? "\"\"Store " + i + "\"\"" : "Store " + i;
+            String description = "\"UPI/" + random.nextInt(1_000_000) + "/Paid to " + store
+                    + ", Bengaluru\r\nref\"";
+            records.add((1 + random.nextInt(28)) + "/" + (1 + random.nextInt(12)) + "/2025,"
+                    + description + "," + (1 + random.nextInt(50_000)) + "." + random.nextInt(10) + "0,"
+                    + (i % 5 == 0 ? "CR" : "DR") + ",UPI\r\n"
+                    + (i % 10 == 9 ? "\r\n" : ""));
+        }
+        return records;
+    }
+
+    /**
+     * Replaces the amount of the records on either side of the first boundary (only the
+     * first record when there is one chunk) with letters of the same length, so the
+     * boundaries do not move. Returns the index of the last record of the first chunk.
+     */
+    private static int breakRowsAroundFirstBoundary(List<String> records, int chunks) throws IOException {
+        if (chunks == 1) {
+            records.set(0, breakAmount(records.get(0)));
+            return -1;
+        }
+        long boundary = boundaries(csv(records), chunks).get(1);
+        int last = 0;
+        while (offsetAfter(records, last) != boundary) {
+            last++;
+            assertTrue(last < records.size(), "boundary " + boundary + " is not at the end of a record");
+        }
+        records.set(last, breakAmount(records.get(last)));
+        records.set(last + 1, breakAmount(records.get(last + 1)));
+        return last;
+    }
+
+    private static String breakAmount(String record) {
+        int end = record.lastIndexOf(",DR");
+        if (end < 0) {
+            end = record.lastIndexOf(",CR");
+        }
+        int start = record.lastIndexOf(',', end - 1) + 1;
+        return record.substring(0, start) + "x".repeat(end - start) + record.substring(end);
+    }
+
+    // Offset just after the record's own line ending, before any blank line that follows
+    private static long offsetAfter(List<String> records, int index) {
+        long offset = HEADER.length();
+        for (int i = 0; i < index; i++) {
+            offset += records.get(i).getBytes(StandardCharsets.UTF_8).length;
+        }
+        return offset + records.get(index).replaceFirst("\r\n\r\n$", "\r\n").getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static List<Long> boundaries(MultipartFile file, int chunks) throws IOException {
+        Path path = Files.createTempFile("upiq-boundaries-", ".csv");
+        try {
+            Files.write(path, file.getBytes());
+            List<Long> boundaries = CSVParserService.findRecordBoundaries(path, file.getSize(), chunks);
+            assertTrue(boundaries.size() <= chunks + 1);
+            return boundaries;
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static MultipartFile csv(List<String> records) {
+        return new MockMultipartFile("file", "statement.csv", "text/csv",
+                (HEADER + String.join("", records)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ParserService parserService(CSVParserService csvParserService) {
+        FileValidationService validation = new FileValidationService();
+        ReflectionTestUtils.setField(validation, "maxFileSize", 10_485_760L);
+        return new ParserService(validation, null, csvParserService, new ParseResultCache(new ObjectMapper()));
+    }
+}
@@ -0,0 +1,171 @@
+package com.upiq.pdf.service;
+
+import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.utils.AmountScanner;
+import com.upiq.pdf.utils.DateLexer;
+import com.upiq.pdf.utils.ParsingUtils;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV import throughput before and after streaming with a once-per-file column
+ * mapping. {@code materialised} is the previous implementation: {@code getRecords()}
+ * followed by per-cell alias lookups that throw and rescan the header map on a miss.
+ * {@code streaming} is {@link CSVParserService#streamCSV} on a single-thread pool, so
+ * the chunked parallel path stays out of the comparison. Run the {@link #main}
+ * method from the test classpath; {@code -prof gc} shows the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParseBenchmark {
+
+    private static final CSVFormat PREVIOUS_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setTrim(true)
+            .build();
+
+    @Param("50000")
+    private int rows;
+
+    private MockMultipartFile file;
+    private TransactionMappingService mappingService;
+    private ForkJoinPool pool;
+    private CSVParserService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(5);
+        StringBuilder csv = new StringBuilder("Date,Narration,Amount,Type,Mode,Category\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(1 + random.nextInt(28)).append('/').append(1 + random.nextInt(12)).append("/2025,")
+                    .append("\"UPI/").append(random.nextInt(1_000_000)).append("/Paid to Store ").append(i % 97)
+                    .append("\",")
+                    .append(random.nextInt(50_000)).append('.').append(random.nextInt(10)).append("0,")
+                    .append(random.nextInt(5) == 0 ? "CR" : "DR").append(",UPI,")
+                    .append(i % 3 == 0 ? "Food" : "").append('\n');
+        }
+        file = new MockMultipartFile("file", "statement.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+        mappingService = new TransactionMappingService();
+        pool = new ForkJoinPool(1);
+        service = new CSVParserService(mappingService, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int streaming(Blackhole blackhole) {
+        return service.streamCSV(file, blackhole::consume);
+    }
+
+    @Benchmark
+    public int materialised(Blackhole blackhole) throws IOException {
+        int parsed = 0;
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
+             CSVParser csvParser = new CSVParser(reader, PREVIOUS_FORMAT)) {
+            List<CSVRecord> records = csvParser.getRecords();
+            DateLexer.FormatHint dateHint = new DateLexer.FormatHint();
+            for (CSVRecord record : records) {
+                TransactionRequest tx = previousParseRecord(record, dateHint);
+                if (tx.getAmount() != null && tx.getAmount() > 0) {
+                    blackhole.consume(tx);
+                    parsed++;
+                }
+            }
+        }
+        return parsed;
+    }
+
+    private TransactionRequest previousParseRecord(CSVRecord record, DateLexer.FormatHint dateHint) {
+        TransactionRequest tx = new TransactionRequest();
+        String amount = getValueIgnoreCase(record, "amount", "value", "transaction_amount", "amt", "total");
+        if (amount != null && !amount.isEmpty()) {
+            long paise = AmountScanner.scanPaise(amount);
+            if (paise != AmountScanner.NO_AMOUNT) {
+                tx.setAmount(AmountScanner.toRupees(paise));
+            }
+        }
+        String type = getValueIgnoreCase(record, "type", "transaction_type", "credit_debit", "cd");
+        if (type != null) {
+            tx.setType(mappingService.extractType(type));
+        } else {
+            String description = getValueIgnoreCase(record, "description", "details", "narration", "remarks", "memo");
+            tx.setType(description != null ? mappingService.extractType(description) : "expense");
+        }
+        String description = getValueIgnoreCase(record, "description", "details", "narration", "remarks", "memo", "note");
+        if (description != null) {
+            tx.setDescription(description.trim());
+        }
+        String date = getValueIgnoreCase(record, "date", "transaction_date", "date_time", "timestamp");
+        tx.setDate(date != null ? ParsingUtils.parseDate(date, dateHint) : LocalDateTime.now());
+        String method = getValueIgnoreCase(record, "payment_method", "method", "payment_type", "mode");
+        if (method != null) {
+            tx.setPaymentMethod(mappingService.extractPaymentMethod(method));
+        }
+        String category = getValueIgnoreCase(record, "category", "cat", "transaction_category");
+        if (category != null && !category.isEmpty()) {
+            tx.setCategory(category.trim());
+        }
+        return tx;
+    }
+
+    private static String getValueIgnoreCase(CSVRecord record, String... possibleKeys) {
+        for (String key : possibleKeys) {
+            try {
+                String value = record.get(key);
+                if (value != null && !value.trim().isEmpty()) {
+                    return value;
+                }
+            } catch (IllegalArgumentException e) {
+                for (String header : record.getParser().getHeaderMap().keySet()) {
+                    if (header.equalsIgnoreCase(key)) {
+                        return record.get(header);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CsvParseBenchmark.class.getSimpleName()).build()).run();
+    }
+}
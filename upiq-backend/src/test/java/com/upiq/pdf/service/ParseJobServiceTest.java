@@ -0,0 +1,116 @@
+package com.upiq.pdf.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upiq.pdf.config.ParserConfig;
+import com.upiq.pdf.dto.TransactionRequest;
+import com.upiq.pdf.exceptions.ParseQueueFullException;
+import com.upiq.pdf.exceptions.ParsingException;
+import com.upiq.pdf.model.ParseJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseJobServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Path TEMP_DIR = Path.of(System.getProperty("java.io.tmpdir"));
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ForkJoinPool parserPool = new ForkJoinPool(1);
+    private final ExecutorService executor = new ParserConfig().parseJobExecutor(1, 1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        parserPool.shutdown();
+    }
+
+    @Test
+    void rejectsJobsOnceTheQueueIsFullAndDeletesQueuedUploadsOnShutdown() throws Exception {
+        Set<Path> existingUploads = uploads();
+        ParseJobService service = service();
+
+        String running = service.submit(csv(), USER_ID).getJobId();
+        awaitStatus(service, running, ParseJob.Status.RUNNING);
+        String queued = service.submit(csv(), USER_ID).getJobId();
+
+        assertThrows(ParseQueueFullException.class, () -> service.submit(csv(), USER_ID));
+        assertEquals(2, newUploads(existingUploads).size());
+
+        service.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(ParseJob.Status.FAILED, service.getJob(queued, USER_ID).getStatus());
+        assertEquals("Server shut down before the job started", service.getJob(queued, USER_ID).getError());
+        assertEquals(ParseJob.Status.FAILED, service.getJob(running, USER_ID).getStatus());
+        assertEquals(Set.of(), newUploads(existingUploads));
+    }
+
+    private ParseJobService service() {
+        // Holds every CSV parse until the test releases it, so the first job keeps its thread
+        CSVParserService blockingCsv = new CSVParserService(new TransactionMappingService(), parserPool) {
+            @Override
+            public List<TransactionRequest> parseCSV(MultipartFile file, ParseProgressListener listener) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ParsingException("CSV parsing was interrupted", e);
+                }
+                return super.parseCSV(file, listener);
+            }
+        };
+        FileValidationService validation = new FileValidationService();
+        ReflectionTestUtils.setField(validation, "maxFileSize", 10_485_760L);
+        ParserService parserService = new ParserService(validation, null, blockingCsv,
+                new ParseResultCache(new ObjectMapper()));
+        return new ParseJobService(parserService, validation, executor);
+    }
+
+    private static void awaitStatus(ParseJobService service, String jobId, ParseJob.Status status)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (service.getJob(jobId, USER_ID).getStatus() != status) {
+            assertTrue(System.nanoTime() < deadline, "job " + jobId + " never reached " + status);
+            Thread.sleep(10);
+        }
+    }
+
+    private static MultipartFile csv() {
+        return new MockMultipartFile("file", "statement.csv", "text/csv",
+                "Date,Description,Amount\n05/03/2025,Swiggy,250.00\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<Path> newUploads(Set<Path> existing) throws IOException {
+        Set<Path> uploads = uploads();
+        uploads.removeAll(existing);
+        return uploads;
+    }
+
+    private static Set<Path> uploads() throws IOException {
+        Set<Path> uploads = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(TEMP_DIR, "upiq-upload-*.upload")) {
+            stream.forEach(uploads::add);
+        }
+        return uploads;
+    }
+}
@@ -0,0 +1,136 @@
+package com.upiq.pdf.service;
+
+import com.upiq.pdf.parser.BankStatementParser;
+import com.upiq.pdf.parser.GooglePayStatementParser;
+import com.upiq.pdf.parser.PaytmStatementParser;
+import com.upiq.pdf.parser.PhonePeStatementParser;
+import com.upiq.pdf.parser.StatementFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-format statement text throughput with format detection on (the specialised
+ * parser) and off (the generic block segmenter), over 2,000 synthetic rows in each
+ * supported layout. PDF text extraction is left out: it costs the same either way and
+ * would hide the difference. Run the {@link #main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementParserBenchmark {
+
+    private static final int ROWS = 2_000;
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun",
+            "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final String[] MERCHANTS = {"Swiggy Limited", "Zomato", "Uber India", "Ravi Kumar",
+            "Big Bazaar", "Amazon Pay", "Airtel Prepaid"};
+
+    @Param({"PHONEPE", "GOOGLE_PAY", "PAYTM", "BANK"})
+    private StatementFormat format;
+
+    private String text;
+    private ForkJoinPool pool;
+    private AIPDFParserService specialised;
+    private AIPDFParserService generic;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = statement(format, new Random(13));
+        TransactionMappingService mappingService = new TransactionMappingService();
+        pool = new ForkJoinPool(1);
+        var parsers = List.of(new PhonePeStatementParser(), new GooglePayStatementParser(),
+                new PaytmStatementParser(), new BankStatementParser(mappingService));
+        specialised = new AIPDFParserService(pool, parsers);
+        generic = new AIPDFParserService(pool, parsers);
+        ReflectionTestUtils.setField(specialised, "formatDetectionEnabled", true);
+        ReflectionTestUtils.setField(generic, "formatDetectionEnabled", false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int specialised() {
+        return specialised.parseTransactions(text).size();
+    }
+
+    @Benchmark
+    public int generic() {
+        return generic.parseTransactions(text).size();
+    }
+
+    static String statement(StatementFormat format, Random random) {
+        StringBuilder out = new StringBuilder(switch (format) {
+            case PHONEPE -> "PhonePe\nTransaction Statement for 9876543210\n";
+            case GOOGLE_PAY -> "Google Pay\nTransaction statement\n";
+            case PAYTM -> "Paytm Statement\n01 Jan 2025 - 31 Dec 2025\n";
+            case BANK -> "Date Narration Chq/Ref Withdrawal Deposit Balance\n";
+            case GENERIC -> throw new IllegalArgumentException("No synthetic layout for " + format);
+        });
+        long balancePaise = 50_00_000_00L;
+        for (int i = 0; i < ROWS; i++) {
+            int day = 1 + random.nextInt(28);
+            String month = MONTHS[i * MONTHS.length / ROWS];
+            String merchant = MERCHANTS[random.nextInt(MERCHANTS.length)];
+            long paise = 100 * (1 + random.nextInt(5_000));
+            boolean credit = random.nextInt(4) == 0;
+            String amount = (paise / 100) + ".00";
+            String ref = Long.toString(527_400_000_000L + random.nextInt(1_000_000));
+            switch (format) {
+                case PHONEPE -> out.append(month).append(' ').append(day).append(", 2025 ")
+                        .append(credit ? "Received from " : "Paid to ").append(merchant)
+                        .append(credit ? " CREDIT ₹" : " DEBIT ₹").append(amount).append('\n')
+                        .append("07:45 pm Transaction ID T").append(ref).append('\n')
+                        .append("UTR No. ").append(ref).append('\n')
+                        .append(credit ? "Credited to XXXXXXXX1234\n" : "Debited from XXXXXXXX1234\n");
+                case GOOGLE_PAY -> out.append(day).append(' ').append(month).append(", 2025 ")
+                        .append(credit ? "Received from " : "Paid to ").append(merchant)
+                        .append(" ₹").append(amount).append('\n')
+                        .append("10:32 AM UPI Transaction ID: ").append(ref).append('\n')
+                        .append(credit ? "Paid to HDFC Bank 1234\n" : "Paid by HDFC Bank 1234\n");
+                case PAYTM -> out.append(day).append(' ').append(month).append(" 10:32 AM ")
+                        .append(credit ? "Received from " : "Paid to ").append(merchant).append('\n')
+                        .append("UPI ID: merchant@ybl on\n")
+                        .append("UPI Ref No: ").append(ref).append(credit ? " + Rs." : " - Rs.").append(amount)
+                        .append('\n');
+                default -> {
+                    balancePaise += credit ? paise : -paise;
+                    out.append(String.format("%02d/%02d/2025 UPI/%s/%s/%s@ybl %s %s %s %d.%02d%n",
+                            day, 1 + i * 12 / ROWS, ref, merchant, "pay", ref.substring(6),
+                            credit ? "0.00" : amount, credit ? amount : "0.00",
+                            balancePaise / 100, balancePaise % 100));
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StatementParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
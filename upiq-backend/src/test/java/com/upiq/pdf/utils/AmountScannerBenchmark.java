@@ -0,0 +1,97 @@
+package com.upiq.pdf.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the amount out of 1,000 synthetic statement cells with {@link AmountScanner}
+ * and with the two string-stripping parsers it replaced: the PDF paths'
+ * {@code replace(",", "")} and the CSV path's per-row {@code replaceAll}. Run the
+ * {@link #main} method from the test classpath; add {@code -prof gc} through the JMH
+ * command line to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountScannerBenchmark {
+
+    private String[] cells;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        cells = new String[1_000];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = format(random.nextLong(5_00_000_00L), random);
+        }
+    }
+
+    @Benchmark
+    public long scanner() {
+        long sum = 0;
+        for (String cell : cells) {
+            sum += AmountScanner.scanPaise(cell);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double replaceAndParseDouble() {
+        double sum = 0;
+        for (String cell : cells) {
+            sum += Double.parseDouble(cell.replace(",", ""));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double replaceAllAndParseDouble() {
+        double sum = 0;
+        for (String cell : cells) {
+            sum += Double.parseDouble(cell.replaceAll("[^0-9.-]", ""));
+        }
+        return sum;
+    }
+
+    /** Formats paise the way statements print them: Indian grouping, fraction only sometimes. */
+    static String format(long paise, Random random) {
+        String rupees = Long.toString(paise / 100);
+        StringBuilder grouped = new StringBuilder();
+        int head = rupees.length() - 3;
+        if (head > 0) {
+            for (int i = 0; i < head; i++) {
+                grouped.append(rupees.charAt(i));
+                if ((head - i) % 2 == 1 && i < head - 1) {
+                    grouped.append(',');
+                }
+            }
+            grouped.append(',');
+        }
+        grouped.append(rupees, Math.max(0, head), rupees.length());
+        if (paise % 100 != 0 || random.nextBoolean()) {
+            grouped.append('.').append(String.format("%02d", paise % 100));
+        }
+        return grouped.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AmountScannerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,64 @@
+package com.upiq.pdf.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AmountScannerTest {
+
+    @Test
+    void readsIndianAndWesternGrouping() {
+        assertEquals(1_00_000_00L, AmountScanner.scanPaise("1,00,000"));
+        assertEquals(1_00_000_00L, AmountScanner.scanPaise("100,000.00"));
+        assertEquals(12_34_567_89L, AmountScanner.scanPaise("12,34,567.89"));
+    }
+
+    @Test
+    void acceptsCurrencyPrefixesAndSignsOnEitherSide() {
+        assertEquals(25_000L, AmountScanner.scanPaise("₹250"));
+        assertEquals(50_050L, AmountScanner.scanPaise("Rs. 500.5"));
+        assertEquals(-25_000L, AmountScanner.scanPaise("- Rs.250"));
+        assertEquals(-25_000L, AmountScanner.scanPaise("INR -250"));
+        assertEquals(25_000L, AmountScanner.scanPaise("+ ₹ 250"));
+    }
+
+    @Test
+    void roundsTheFractionHalfUp() {
+        assertEquals(1_013L, AmountScanner.scanPaise("10.125"));
+        assertEquals(1_012L, AmountScanner.scanPaise("10.1249"));
+        assertEquals(1_000L, AmountScanner.scanPaise("9.995"));
+    }
+
+    @Test
+    void scansOnlyTheRegionAndStopsAfterTheNumber() {
+        String line = "Paid to Swiggy Rs.1,250.00 on 12/10/2025";
+        int start = line.indexOf("Rs.");
+        assertEquals(1_25_000L, AmountScanner.scanPaise(line, start, line.length()));
+        assertEquals(1_25_000L, AmountScanner.scanPaise("1,250.00 Dr"));
+    }
+
+    @Test
+    void rejectsTextWithoutAnAmount() {
+        assertEquals(AmountScanner.NO_AMOUNT, AmountScanner.scanPaise("Rs."));
+        assertEquals(AmountScanner.NO_AMOUNT, AmountScanner.scanPaise(",100"));
+        assertEquals(AmountScanner.NO_AMOUNT, AmountScanner.scanPaise(""));
+        assertEquals(AmountScanner.NO_AMOUNT, AmountScanner.scanPaise(null));
+        assertEquals(AmountScanner.NO_AMOUNT, AmountScanner.scanPaise("99999999999999"));
+    }
+
+    @Test
+    void agreesWithTheStringStrippingParserItReplaced() {
+        Random random = new Random(11);
+        for (int n = 0; n < 100_000; n++) {
+            long paise = random.nextLong(10_000_000_00L);
+            String amount = AmountScannerBenchmark.format(paise, random);
+            double old = Double.parseDouble(amount.replace(",", ""));
+            long expected = BigDecimal.valueOf(old).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+            assertEquals(expected, AmountScanner.scanPaise(amount), amount);
+        }
+    }
+}
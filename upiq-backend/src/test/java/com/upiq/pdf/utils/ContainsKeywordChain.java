@@ -0,0 +1,71 @@
+package com.upiq.pdf.utils;
+
+import com.upiq.pdf.utils.TransactionKeywords.KeywordClass;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@code toLowerCase().contains(..)} chains {@link TransactionKeywords} replaced,
+ * kept as the reference the automaton is tested and benchmarked against.
+ */
+final class ContainsKeywordChain {
+
+    private static final Map<KeywordClass, List<String>> KEYWORDS = new EnumMap<>(KeywordClass.class);
+
+    static {
+        KEYWORDS.put(KeywordClass.BLOCK_START,
+                List.of("paid to", "received from", "credited to", "sent to", "purchase", "payment to"));
+        KEYWORDS.put(KeywordClass.DEBITED, List.of("debited"));
+        KEYWORDS.put(KeywordClass.DEBITED_FROM, List.of("debited from"));
+        KEYWORDS.put(KeywordClass.IGNORED_LINE,
+                List.of("opening balance", "closing balance", "date & time", "page", "statement"));
+        KEYWORDS.put(KeywordClass.SUMMARY_PAID_TO, List.of("paid to and"));
+        KEYWORDS.put(KeywordClass.SUMMARY_RECEIVED_FROM, List.of("received from and"));
+        KEYWORDS.put(KeywordClass.CASH, List.of("cash"));
+        KEYWORDS.put(KeywordClass.STATEMENT_CREDIT,
+                List.of("received from", "credited", "refund", "cashback", "paid to you"));
+        KEYWORDS.put(KeywordClass.STATEMENT_DEBIT,
+                List.of("paid to", "debited", "sent to", "purchase", "payment to"));
+        KEYWORDS.put(KeywordClass.TYPE_CREDIT,
+                List.of("credit", "cr", "deposit", "income", "salary", "refund",
+                        "paid to you", "received from", "sent to your bank", "to your bank"));
+        KEYWORDS.put(KeywordClass.TYPE_DEBIT,
+                List.of("debit", "dr", "withdrawal", "payment", "paid to"));
+        KEYWORDS.put(KeywordClass.BLOCK_CREDIT,
+                List.of("received from", "added to", "credited", "refund", "refunded",
+                        "cashback", "paid to you", "sent to your bank", "to your bank",
+                        "received in bank"));
+        KEYWORDS.put(KeywordClass.BLOCK_DEBIT,
+                List.of("paid to", "debited from", "sent to", "payment to", "merchant payment"));
+        KEYWORDS.put(KeywordClass.UPI, List.of("upi", "unified payment", "gpay", "google pay"));
+        KEYWORDS.put(KeywordClass.CARD, List.of("card", "visa", "mastercard", "debit card", "credit card"));
+        KEYWORDS.put(KeywordClass.NET_BANKING, List.of("net banking", "neft", "rtgs", "imps"));
+        KEYWORDS.put(KeywordClass.IDENTIFIER,
+                List.of("transaction id", "upi txn", "upi transaction id", "utr",
+                        "reference no", "ref no", "reference id", "upi reference", "order id"));
+    }
+
+    private ContainsKeywordChain() {
+    }
+
+    static long scan(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        long matched = 0L;
+        for (Map.Entry<KeywordClass, List<String>> entry : KEYWORDS.entrySet()) {
+            for (String keyword : entry.getValue()) {
+                if (lower.contains(keyword)) {
+                    matched |= entry.getKey().mask();
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    static List<String> keywords() {
+        return KEYWORDS.values().stream().flatMap(List::stream).distinct().toList();
+    }
+}
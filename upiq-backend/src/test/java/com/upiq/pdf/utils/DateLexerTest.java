@@ -0,0 +1,160 @@
+package com.upiq.pdf.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateLexerTest {
+
+    // Every layout in the formatter lists DateLexer replaced (ParsingUtils, AIPDFParserService)
+    @ParameterizedTest(name = "{0} ({1})")
+    @CsvSource(delimiter = '|', textBlock = """
+            05/03/2024          | dd/MM/yyyy          | 2024-03-05T00:00
+            05-03-2024          | dd-MM-yyyy          | 2024-03-05T00:00
+            2024-03-05          | yyyy-MM-dd          | 2024-03-05T00:00
+            05/03/24            | dd/MM/yy            | 2024-03-05T00:00
+            05-03-24            | dd-MM-yy            | 2024-03-05T00:00
+            12/25/2024          | MM/dd/yyyy          | 2024-12-25T00:00
+            05 Mar 2024         | dd MMM yyyy         | 2024-03-05T00:00
+            05 March 2024       | dd MMMM yyyy        | 2024-03-05T00:00
+            2024/03/05          | yyyy/MM/dd          | 2024-03-05T00:00
+            05.03.2024          | dd.MM.yyyy          | 2024-03-05T00:00
+            2024-03-05T14:30:15 | ISO_LOCAL_DATE_TIME | 2024-03-05T14:30:15
+            5/3/2024            | d/M/yyyy            | 2024-03-05T00:00
+            5-3-2024            | d-M-yyyy            | 2024-03-05T00:00
+            5.3.2024            | d.M.yyyy            | 2024-03-05T00:00
+            5/3/24              | d/M/yy              | 2024-03-05T00:00
+            5-3-24              | d-M-yy              | 2024-03-05T00:00
+            5.3.24              | d.M.yy              | 2024-03-05T00:00
+            5 Mar 2024          | d MMM yyyy          | 2024-03-05T00:00
+            5 Mar 24            | d MMM yy            | 2024-03-05T00:00
+            '5 Mar, 2024'       | 'd MMM, yyyy'       | 2024-03-05T00:00
+            '5 Mar, 24'         | 'd MMM, yy'         | 2024-03-05T00:00
+            '05 Mar, 2024'      | 'dd MMM, yyyy'      | 2024-03-05T00:00
+            """)
+    void parsesEveryLayoutTheFormatterListsAccepted(String text, String pattern, LocalDateTime expected) {
+        assertEquals(expected, DateLexer.parse(text, null));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            01/01/00                | 2000-01-01T00:00
+            31-12-99                | 2099-12-31T00:00
+            '1 Jan, 26'             | 2026-01-01T00:00
+            2024-03-05 14:30        | 2024-03-05T14:30
+            2024-03-05T14:30:15.123 | 2024-03-05T14:30:15
+            05/03/2024 23:59:59     | 2024-03-05T23:59:59
+            '  05 / 03 / 2024  '    | 2024-03-05T00:00
+            05-Sep-2024             | 2024-09-05T00:00
+            5 sept 2024             | 2024-09-05T00:00
+            5 SEPTEMBER 2024        | 2024-09-05T00:00
+            5 Septem 2024           | 2024-09-05T00:00
+            5 Marc 2024             | 2024-03-05T00:00
+            05 MAR 2024             | 2024-03-05T00:00
+            'Mar 5, 2024'           | 2024-03-05T00:00
+            December 31 2024        | 2024-12-31T00:00
+            29/02/2024              | 2024-02-29T00:00
+            """)
+    void parsesTwoDigitYearsTimesAndMonthNames(String text, LocalDateTime expected) {
+        assertEquals(expected, DateLexer.parse(text, null));
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            2024-03-05T24:00
+            2024-03-05T14:60
+            2024-03-05 14
+            05/03/2024x
+            5 Ma 2024
+            5 Mrch 2024
+            'Mar 5, 24'
+            05/03/202
+            123/03/2024
+            /03/2024
+            ''
+            """)
+    void rejectsMalformedDates(String text) {
+        assertNull(DateLexer.parse(text, null));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            'Paid to Swiggy on 12/10/2025 ref 88'  | 2025-10-12T00:00
+            'UPI/2024-03-05/ref'                   | 2024-03-05T00:00
+            'Txn 05 Mar 2024 14:30 debit'          | 2024-03-05T00:00
+            'ref 123456 on 5.3.24'                 | 2024-03-05T00:00
+            """)
+    void findsTheFirstWordBoundedDate(String text, LocalDateTime expected) {
+        assertEquals(expected, DateLexer.find(text, null));
+    }
+
+    @Test
+    void findIgnoresDigitsInsideWordsAndMonthFirstText() {
+        assertNull(DateLexer.find("ref12/10/2025", null));
+        assertNull(DateLexer.find("order 99912/10/2025", null));
+        assertNull(DateLexer.find("Paid on Mar 5, 2024", null));
+        assertNull(DateLexer.find(null, null));
+    }
+
+    @Test
+    void hintLocksInTheLastWinningFormatWithoutChangingResults() {
+        DateLexer.FormatHint hint = new DateLexer.FormatHint();
+        assertNull(hint.getFormat());
+
+        assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0), DateLexer.parse("2024-03-05", hint));
+        assertEquals(DateLexer.Format.YEAR_MONTH_DAY, hint.getFormat());
+
+        // A failed row leaves the hint as it was
+        assertNull(DateLexer.parse("not a date", hint));
+        assertEquals(DateLexer.Format.YEAR_MONTH_DAY, hint.getFormat());
+
+        // An ambiguous row is still read day-first while the hint prefers another grammar
+        assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0), DateLexer.parse("05/03/2024", hint));
+        assertEquals(DateLexer.Format.DAY_MONTH_YEAR, hint.getFormat());
+
+        assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0), DateLexer.find("on 05 Mar 2024", hint));
+        assertEquals(DateLexer.Format.DAY_MONTH_NAME_YEAR, hint.getFormat());
+        assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0), DateLexer.parse("Mar 5, 2024", hint));
+        assertEquals(DateLexer.Format.MONTH_NAME_DAY_YEAR, hint.getFormat());
+    }
+
+    // The baseline's extractDate regex threw on month 25 and fell back to now(); the
+    // swapped retry reads the date month-first instead
+    @Test
+    void retriesMonthFirstWhenDayFirstIsImpossible() {
+        assertEquals(LocalDateTime.of(2024, 12, 25, 0, 0), DateLexer.find("Paid on 12/25/2024", null));
+        assertEquals(LocalDateTime.of(2024, 1, 25, 0, 0), DateLexer.parse("1/25/2024", null));
+        assertEquals(DateLexer.Format.DAY_MONTH_YEAR, formatOf("12/25/2024"));
+
+        // Neither order is a date, so callers still fall back to now() as the baseline did
+        assertNull(DateLexer.parse("13/25/2024", null));
+        assertNull(DateLexer.find("Paid on 13/25/2024", null));
+    }
+
+    // The baseline's SMART resolver clamped an out-of-range day to the month's last day
+    @Test
+    void rejectsDaysPastTheEndOfTheMonthInsteadOfClamping() {
+        assertNull(DateLexer.parse("31/04/2024", null));
+        assertNull(DateLexer.parse("29/02/2023", null));
+        assertNull(DateLexer.parse("2024-04-31", null));
+        assertNull(DateLexer.parse("31 Apr 2024", null));
+
+        LocalDateTime before = LocalDateTime.now();
+        LocalDateTime date = ParsingUtils.parseDate("31/04/2024");
+        assertFalse(date.isBefore(before));
+        assertTrue(date.isBefore(LocalDateTime.now().plusSeconds(1)));
+    }
+
+    private static DateLexer.Format formatOf(String text) {
+        DateLexer.FormatHint hint = new DateLexer.FormatHint();
+        DateLexer.parse(text, hint);
+        return hint.getFormat();
+    }
+}
@@ -0,0 +1,75 @@
+package com.upiq.pdf.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeywordAutomatonTest {
+
+    private static final long A = 1L;
+    private static final long B = 1L << 1;
+    private static final long C = 1L << 2;
+
+    private final KeywordAutomaton automaton = KeywordAutomaton.builder()
+            .add(A, "paid to")
+            .add(B, "paid to you", "to you")
+            .add(C, "you")
+            .build();
+
+    @Test
+    void reportsEveryKeywordEndingAtTheSamePosition() {
+        assertEquals(A | B | C, automaton.scan("Paid to YOU by Ravi"));
+    }
+
+    @Test
+    void matchesCaseInsensitivelyAcrossOverlaps() {
+        assertEquals(A, automaton.scan("PAID TO Swiggy"));
+        assertEquals(B | C, automaton.scan("sent to you"));
+        assertEquals(0L, automaton.scan("paid t o yo"));
+    }
+
+    @Test
+    void scansOnlyTheGivenRange() {
+        String text = "refund paid to you";
+        assertEquals(A, automaton.scan(text, 7, 14));
+        assertEquals(0L, automaton.scan(text, 0, 6));
+    }
+
+    @Test
+    void handlesEmptyAndNullText() {
+        assertEquals(0L, automaton.scan(""));
+        assertEquals(0L, automaton.scan(null));
+    }
+
+    @Test
+    void nonAsciiCharactersBreakMatches() {
+        assertEquals(0L, automaton.scan("paid\u00A0to"));
+        assertEquals(A, automaton.scan("₹250 paid to ₹"));
+    }
+
+    @Test
+    void transactionKeywordsAgreeWithTheContainsChains() {
+        List<String> keywords = ContainsKeywordChain.keywords();
+        String[] filler = {" ", "  ", "x", "Rs.", "₹", "-", "ref", "12/10/2025", " ", "&", "ID:"};
+        Random random = new Random(42);
+        for (int n = 0; n < 50_000; n++) {
+            StringBuilder line = new StringBuilder();
+            int parts = 1 + random.nextInt(6);
+            for (int p = 0; p < parts; p++) {
+                String piece = random.nextBoolean()
+                        ? keywords.get(random.nextInt(keywords.size()))
+                        : filler[random.nextInt(filler.length)];
+                if (random.nextInt(4) == 0 && piece.length() > 2) {
+                    // Cut keywords short so near misses are covered as well as hits
+                    piece = piece.substring(0, 1 + random.nextInt(piece.length() - 1));
+                }
+                line.append(random.nextBoolean() ? piece.toUpperCase() : piece);
+            }
+            String text = line.toString();
+            assertEquals(ContainsKeywordChain.scan(text), TransactionKeywords.scan(text), text);
+        }
+    }
+}
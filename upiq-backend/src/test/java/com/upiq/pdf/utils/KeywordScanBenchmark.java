@@ -0,0 +1,80 @@
+package com.upiq.pdf.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifies a page worth of statement lines with {@link TransactionKeywords} and with
+ * the {@code toLowerCase().contains(..)} chains it replaced. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.upiq.pdf.utils.KeywordScanBenchmark}; add {@code -prof gc}
+ * through the JMH command line to compare allocation too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordScanBenchmark {
+
+    private static final String[] TEMPLATES = {
+            "%d Oct 2025 10:32 AM Paid to Swiggy Instamart",
+            "UPI Transaction ID: 52741234%04d",
+            "Paid by HDFC Bank XX%04d",
+            "Received from Ravi Kumar ₹%d",
+            "Debited from State Bank of India XX%04d",
+            "Credited to your bank account ₹%d.00",
+            "Page %d of 12",
+            "Cashback received ₹%d",
+            "NEFT-HDFC000%d-SALARY OCT",
+            "POS %d AMAZON PAY INDIA card purchase",
+    };
+
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        lines = new String[500];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = String.format(TEMPLATES[random.nextInt(TEMPLATES.length)], random.nextInt(10_000));
+        }
+    }
+
+    @Benchmark
+    public long automaton() {
+        long matched = 0L;
+        for (String line : lines) {
+            matched ^= TransactionKeywords.scan(line);
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public long containsChain() {
+        long matched = 0L;
+        for (String line : lines) {
+            matched ^= ContainsKeywordChain.scan(line);
+        }
+        return matched;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(KeywordScanBenchmark.class.getSimpleName()).build()).run();
+    }
+}
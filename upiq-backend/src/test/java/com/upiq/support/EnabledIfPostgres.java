@@ -0,0 +1,23 @@
+package com.upiq.support;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test class only when {@code UPIQ_TEST_DB_URL} names a PostgreSQL database
+ * ({@code UPIQ_TEST_DB_USERNAME} / {@code UPIQ_TEST_DB_PASSWORD} are optional). Inherited,
+ * unlike the JUnit condition it wraps, so subclasses of {@link PostgresJpaTest} pick it up.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@EnabledIfEnvironmentVariable(named = "UPIQ_TEST_DB_URL", matches = ".+")
+public @interface EnabledIfPostgres {
+}
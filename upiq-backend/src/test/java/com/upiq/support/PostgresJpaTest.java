@@ -0,0 +1,56 @@
+package com.upiq.support;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Base for repository tests and benchmarks that need a real PostgreSQL (partitions, the
+ * change-tracking triggers, COPY). They run when {@code UPIQ_TEST_DB_URL} is set (see
+ * {@link EnabledIfPostgres}); Flyway migrates that database to the current schema first.
+ *
+ * <p>Test methods run outside a transaction. {@link #inRollback} runs work in a fresh
+ * transaction that is always rolled back, so a test leaves nothing behind.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfPostgres
+@TestPropertySource(properties = {
+        "spring.datasource.url=${UPIQ_TEST_DB_URL}",
+        "spring.datasource.username=${UPIQ_TEST_DB_USERNAME:postgres}",
+        "spring.datasource.password=${UPIQ_TEST_DB_PASSWORD:}"
+})
+public abstract class PostgresJpaTest {
+
+    // Far above ids the app hands out; tests that commit must delete what they wrote
+    protected static final long TEST_USER_ID = 9_000_001L;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    protected <T> T inRollback(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            return work.get();
+        });
+    }
+
+    protected void inRollback(Runnable work) {
+        inRollback(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
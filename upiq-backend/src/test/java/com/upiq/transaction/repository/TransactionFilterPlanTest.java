@@ -0,0 +1,197 @@
+package com.upiq.transaction.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upiq.support.PostgresJpaTest;
+import com.upiq.transaction.dto.TransactionFilter;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@code EXPLAIN (FORMAT JSON)} on the SQL Hibernate generates for each
+ * {@link TransactionSpecifications} filter, against the schema as Flyway leaves it (the
+ * V4 indexes were rebuilt in V9 and again on the V10 partitions). One user's rows are a
+ * small share of the table, as in production, and the test fails if any plan reads a
+ * partition holding the seeded rows with a Seq Scan. Other partitions are left out: an
+ * empty or near-empty one is cheapest to read with a Seq Scan whatever the indexes.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.upiq.transaction.repository.TransactionFilterPlanTest$CapturingInspector")
+class TransactionFilterPlanTest extends PostgresJpaTest {
+
+    private static final int USER_ROWS = 500;
+    private static final int OTHER_USERS = 40;
+    private static final int OTHER_USER_ROWS = 1_000;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private static final String SEEDED_PARTITIONS_SQL = "SELECT DISTINCT CAST(tableoid::regclass AS text) "
+            + "FROM transactions WHERE user_id BETWEEN :firstUserId AND :lastUserId";
+
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private TransactionRepository repository;
+
+    /** Records the SQL Hibernate sends, so the test explains exactly that statement. */
+    public static class CapturingInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            CAPTURED.add(sql);
+            return sql;
+        }
+    }
+
+    @Test
+    void filterQueriesDoNotSeqScanTransactions() {
+        inRollback(() -> {
+            Map<String, Long> categoryIds = seed();
+            Set<String> partitions = seededPartitions();
+            int year = Year.now().getValue();
+
+            TransactionFilter dates = new TransactionFilter();
+            dates.setDateFrom(LocalDate.of(year, 2, 1));
+            dates.setDateTo(LocalDate.of(year, 2, 28));
+            assertNoSeqScan("date range", dates, categoryIds, partitions,
+                    TEST_USER_ID, dates.getDateFrom().atStartOfDay(), dates.getDateTo().plusDays(1).atStartOfDay());
+
+            TransactionFilter category = new TransactionFilter();
+            category.setCategories(List.of("Travel"));
+            assertNoSeqScan("category", category, categoryIds, partitions, TEST_USER_ID, categoryIds.get("travel"));
+
+            TransactionFilter paymentMethod = new TransactionFilter();
+            paymentMethod.setPaymentMethods(List.of("Card"));
+            assertNoSeqScan("payment method", paymentMethod, categoryIds, partitions, TEST_USER_ID, "card");
+
+            TransactionFilter description = new TransactionFilter();
+            description.setDescriptionContains("Swiggy");
+            assertNoSeqScan("description", description, categoryIds, partitions, TEST_USER_ID, "%swiggy%");
+        });
+    }
+
+    /**
+     * The test user's rows, spread over last year and this one, among {@code OTHER_USERS}
+     * users with more rows each. Returns the test user's category ids by lower-cased name.
+     */
+    private Map<String, Long> seed() {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement categories = connection.prepareStatement("INSERT INTO categories "
+                    + "(name, type, user_id) VALUES ('Food', 'expense', ?), ('Travel', 'expense', ?), "
+                    + "('Bills', 'expense', ?)")) {
+                for (int i = 1; i <= 3; i++) {
+                    categories.setLong(i, TEST_USER_ID);
+                }
+                categories.executeUpdate();
+            }
+            insertRows(connection, TEST_USER_ID, 1, USER_ROWS);
+            insertRows(connection, TEST_USER_ID + 1, OTHER_USERS, OTHER_USER_ROWS);
+            try (Statement analyze = connection.createStatement()) {
+                analyze.execute("ANALYZE transactions");
+            }
+        });
+        return Map.of(
+                "food", categoryId("Food"),
+                "travel", categoryId("Travel"),
+                "bills", categoryId("Bills"));
+    }
+
+    // Everyone shares the test user's categories; the foreign key doesn't check the owner
+    private static void insertRows(Connection connection, long firstUserId, int users, int rowsPerUser)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO transactions "
+                + "(user_id, amount_paise, type, category_id, description, date, payment_method) "
+                + "SELECT ? + u, 100 + g, 'expense', c.id, "
+                + "(ARRAY['Swiggy order', 'Uber trip', 'Electricity bill'])[1 + g % 3] || ' ' || g, "
+                + "make_date(?, 1, 1) + g * (interval '700 days' / ?), (ARRAY['UPI', 'Card', 'Cash'])[1 + g % 3] "
+                + "FROM generate_series(0, ? - 1) u CROSS JOIN generate_series(1, ?) g "
+                + "JOIN categories c ON c.user_id = ? AND c.name = (ARRAY['Food', 'Travel', 'Bills'])[1 + g % 3]")) {
+            insert.setLong(1, firstUserId);
+            insert.setInt(2, Year.now().getValue() - 1);
+            insert.setInt(3, rowsPerUser);
+            insert.setInt(4, users);
+            insert.setInt(5, rowsPerUser);
+            insert.setLong(6, TEST_USER_ID);
+            insert.executeUpdate();
+        }
+    }
+
+    private Long categoryId(String name) {
+        return ((Number) entityManager.createNativeQuery(
+                        "SELECT id FROM categories WHERE user_id = :userId AND name = :name")
+                .setParameter("userId", TEST_USER_ID)
+                .setParameter("name", name)
+                .getSingleResult()).longValue();
+    }
+
+    private Set<String> seededPartitions() {
+        Set<String> names = new HashSet<>();
+        for (Object name : entityManager.createNativeQuery(SEEDED_PARTITIONS_SQL)
+                .setParameter("firstUserId", TEST_USER_ID)
+                .setParameter("lastUserId", TEST_USER_ID + OTHER_USERS)
+                .getResultList()) {
+            names.add(name.toString());
+        }
+        return names;
+    }
+
+    private void assertNoSeqScan(String label, TransactionFilter filter, Map<String, Long> categoryIds,
+            Set<String> partitions, Object... parameters) {
+        CAPTURED.clear();
+        repository.findAll(TransactionSpecifications.forUser(TEST_USER_ID, filter, categoryIds), NEWEST_FIRST);
+        String sql = CAPTURED.stream()
+                .filter(statement -> statement.contains(" from transactions "))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError(label + ": no query captured"));
+        assertEquals(parameters.length, sql.chars().filter(c -> c == '?').count(), () -> label + ": " + sql);
+
+        String plan = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    explain.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+        List<String> seqScans = new ArrayList<>();
+        try {
+            collectSeqScans(objectMapper.readTree(plan), partitions, seqScans);
+        } catch (Exception e) {
+            throw new AssertionError(label + ": unreadable plan " + plan, e);
+        }
+        assertTrue(seqScans.isEmpty(), () -> label + " filter seq-scans " + seqScans + ":\n" + sql + "\n" + plan);
+    }
+
+    private static void collectSeqScans(JsonNode node, Set<String> partitions, List<String> seqScans) {
+        if (node.isObject() && "Seq Scan".equals(node.path("Node Type").asText())
+                && partitions.contains(node.path("Relation Name").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        node.forEach(child -> collectSeqScans(child, partitions, seqScans));
+    }
+}
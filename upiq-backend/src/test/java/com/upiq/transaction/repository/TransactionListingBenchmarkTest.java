@@ -0,0 +1,158 @@
+package com.upiq.transaction.repository;
+
+import com.upiq.category.dto.CategoryResponse;
+import com.upiq.category.model.Category;
+import com.upiq.category.repository.CategoryRepository;
+import com.upiq.support.PostgresJpaTest;
+import com.upiq.transaction.dto.TransactionResponse;
+import com.upiq.transaction.model.Transaction;
+import com.upiq.transaction.utils.MoneyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lists 10k transactions the way {@code getUserTransactions} used to (load managed
+ * {@link Transaction} entities, look up category names, map to responses) and the way it
+ * does now ({@link TransactionRepository#findRowsByUserId} into {@link TransactionRow}),
+ * and logs latency and bytes allocated on the calling thread for each.
+ */
+@Slf4j
+class TransactionListingBenchmarkTest extends PostgresJpaTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_RUNS = 5;
+    private static final int RUNS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void projectionListingKeepsNoManagedEntities() {
+        inRollback(() -> {
+            insertRows();
+
+            Result entities = best(this::listEntities);
+            Result rows = best(this::listRows);
+
+            log.info("listing {} rows: entities -> {} ms, {} KB allocated, {} managed; "
+                            + "projection -> {} ms, {} KB allocated, {} managed",
+                    ROWS, entities.millis(), entities.allocatedBytes() / 1024, entities.managed(),
+                    rows.millis(), rows.allocatedBytes() / 1024, rows.managed());
+            assertEquals(ROWS, entities.managed());
+            assertEquals(0, rows.managed());
+        });
+    }
+
+    private void insertRows() {
+        Long categoryId = categoryRepository.save(Category.builder()
+                .name("Benchmark").type("expense").userId(TEST_USER_ID).build()).getId();
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        LocalDateTime date = LocalDateTime.now().withDayOfYear(1);
+        for (int i = 0; i < ROWS; i++) {
+            transactions.add(Transaction.builder()
+                    .userId(TEST_USER_ID)
+                    .amountPaise(100 + i)
+                    .type("expense")
+                    .categoryId(categoryId)
+                    .description("Benchmark row " + i)
+                    .date(date.plusMinutes(i))
+                    .paymentMethod("UPI")
+                    .build());
+        }
+        repository.saveAll(transactions);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // The pre-projection path: managed entities (with dirty-checking snapshots) plus a category-name map
+    private List<TransactionResponse> listEntities() {
+        Map<Long, String> categoryNames = categoryRepository.findResponsesByUserId(TEST_USER_ID).stream()
+                .collect(Collectors.toMap(CategoryResponse::getId, CategoryResponse::getName));
+        return entityManager.createQuery("SELECT t FROM Transaction t WHERE t.userId = :userId "
+                        + "ORDER BY t.date DESC, t.id DESC", Transaction.class)
+                .setParameter("userId", TEST_USER_ID)
+                .getResultStream()
+                .map(t -> TransactionResponse.builder()
+                        .id(t.getId())
+                        .userId(t.getUserId())
+                        .amount(MoneyUtils.toRupees(t.getAmountPaise()))
+                        .type(t.getType())
+                        .categoryId(t.getCategoryId())
+                        .category(categoryNames.get(t.getCategoryId()))
+                        .description(t.getDescription())
+                        .date(t.getDate())
+                        .paymentMethod(t.getPaymentMethod())
+                        .importBatchId(t.getImportBatchId())
+                        .updatedAt(t.getUpdatedAt())
+                        .changeSeq(t.getChangeSeq())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<TransactionResponse> listRows() {
+        return repository.findRowsByUserId(TEST_USER_ID).stream()
+                .map(row -> TransactionResponse.builder()
+                        .id(row.id())
+                        .userId(row.userId())
+                        .amount(MoneyUtils.toRupees(row.amountPaise()))
+                        .type(row.type())
+                        .categoryId(row.categoryId())
+                        .category(row.category())
+                        .description(row.description())
+                        .date(row.date())
+                        .paymentMethod(row.paymentMethod())
+                        .importBatchId(row.importBatchId())
+                        .updatedAt(row.updatedAt())
+                        .changeSeq(row.changeSeq())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private Result best(Supplier<List<TransactionResponse>> listing) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            measure(listing);
+        }
+        Result best = null;
+        for (int i = 0; i < RUNS; i++) {
+            Result result = measure(listing);
+            if (best == null || result.millis() < best.millis()) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    private Result measure(Supplier<List<TransactionResponse>> listing) {
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        List<TransactionResponse> responses = listing.get();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long allocatedBytes = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertEquals(ROWS, responses.size());
+        int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        entityManager.clear();
+        return new Result(millis, allocatedBytes, managed);
+    }
+
+    private record Result(long millis, long allocatedBytes, int managed) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.upiq.transaction.repository;
+
+import com.upiq.category.model.Category;
+import com.upiq.category.repository.CategoryRepository;
+import com.upiq.support.PostgresJpaTest;
+import com.upiq.transaction.model.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inserts 10k transactions through {@link TransactionRepository#saveAll} with JDBC
+ * batching on (the configured batch size) and off (batch size 1, one round trip per
+ * row as under IDENTITY ids). Each run inserts in its own rolled-back transaction.
+ */
+@Slf4j
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class TransactionSaveAllBenchmarkTest extends PostgresJpaTest {
+
+    private static final int ROWS = 10_000;
+    private static final int RUNS = 3;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void batchedSaveAllNeedsFarFewerStatements() {
+        int configuredBatchSize = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getSessionFactoryOptions().getJdbcBatchSize();
+
+        insert(configuredBatchSize); // warm-up
+        Result unbatched = best(1);
+        Result batched = best(configuredBatchSize);
+
+        log.info("saveAll of {} rows: batch size 1 -> {} ms, {} statements; batch size {} -> {} ms, {} statements",
+                ROWS, unbatched.millis(), unbatched.statements(),
+                configuredBatchSize, batched.millis(), batched.statements());
+        assertTrue(batched.statements() * 10 < unbatched.statements(),
+                () -> "expected batching, got " + batched + " vs " + unbatched);
+    }
+
+    private Result best(int batchSize) {
+        Result[] results = new Result[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            results[i] = insert(batchSize);
+        }
+        return Arrays.stream(results).min((a, b) -> Long.compare(a.millis(), b.millis())).orElseThrow();
+    }
+
+    private Result insert(int batchSize) {
+        return inRollback(() -> {
+            Long categoryId = categoryRepository.save(Category.builder()
+                    .name("Benchmark").type("expense").userId(TEST_USER_ID).build()).getId();
+            return insert(categoryId, batchSize);
+        });
+    }
+
+    private Result insert(Long categoryId, int batchSize) {
+        List<Transaction> rows = new ArrayList<>(ROWS);
+        LocalDateTime date = LocalDateTime.now().withDayOfYear(1);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(Transaction.builder()
+                    .userId(TEST_USER_ID)
+                    .amountPaise(100 + i)
+                    .type("expense")
+                    .categoryId(categoryId)
+                    .description("Benchmark row " + i)
+                    .date(date.plusMinutes(i))
+                    .paymentMethod("UPI")
+                    .build());
+        }
+        Statistics statistics = statistics();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long start = System.nanoTime();
+        repository.saveAll(rows);
+        entityManager.flush();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+        entityManager.clear();
+        return new Result(millis, statements);
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private record Result(long millis, long statements) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.upiq.transaction.service.impl;
+
+import com.upiq.category.service.impl.CategoryServiceImpl;
+import com.upiq.config.UserDataCache;
+import com.upiq.pdf.service.CSVParserService;
+import com.upiq.pdf.service.FileValidationService;
+import com.upiq.pdf.service.TransactionMappingService;
+import com.upiq.support.PostgresJpaTest;
+import com.upiq.transaction.dto.BulkIngestResponse;
+import com.upiq.transaction.repository.TransactionRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the COPY ingest path end to end. Batches commit as they go, so unlike the other
+ * {@link PostgresJpaTest}s this one deletes the test user's data before and after.
+ */
+@TestPropertySource(properties = "app.transactions.ingest.batch-size=" + TransactionBulkIngestServiceImplTest.BATCH_SIZE)
+@Import({TransactionBulkIngestServiceImpl.class, CSVParserService.class, TransactionMappingService.class,
+        FileValidationService.class, UserDataCache.class, CategoryServiceImpl.class,
+        TransactionRollupServiceImpl.class, TransactionPartitionServiceImpl.class,
+        TransactionBulkIngestServiceImplTest.ParserPoolConfig.class})
+class TransactionBulkIngestServiceImplTest extends PostgresJpaTest {
+
+    static final int BATCH_SIZE = 100;
+    private static final int ROWS = 250;
+    // One year, so the batcher never commits early to create a partition
+    private static final int YEAR = Year.now().getValue() - 1;
+
+    private static final List<String> CLEANUP_SQL = List.of(
+            "DELETE FROM transactions WHERE user_id = :userId",
+            "DELETE FROM transaction_monthly_rollup WHERE user_id = :userId",
+            "DELETE FROM transaction_tombstones WHERE user_id = :userId",
+            "DELETE FROM categories WHERE user_id = :userId",
+            "DELETE FROM user_change_counters WHERE user_id = :userId");
+    private static final String ROLLUP_SQL = "SELECT CONCAT_WS('|', month_start, category_id, type, total_paise, "
+            + "tx_count) FROM transaction_monthly_rollup WHERE user_id = :userId AND tx_count > 0 ORDER BY 1";
+
+    @TestConfiguration
+    static class ParserPoolConfig {
+
+        @Bean(destroyMethod = "shutdown")
+        ForkJoinPool parserPool() {
+            return new ForkJoinPool(1);
+        }
+    }
+
+    @Autowired
+    private TransactionBulkIngestServiceImpl ingestService;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @BeforeEach
+    @AfterEach
+    void deleteTestUserData() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String statement : CLEANUP_SQL) {
+                entityManager.createNativeQuery(statement).setParameter("userId", TEST_USER_ID).executeUpdate();
+            }
+        });
+    }
+
+    @Test
+    void copiesQuotedRowsInBatchesAndKeepsTheRollupExact() {
+        List<String> descriptions = new ArrayList<>();
+        MockMultipartFile file = csv(descriptions, -1);
+
+        BulkIngestResponse response = ingestService.ingestCsv(file, TEST_USER_ID);
+
+        assertEquals(ROWS, response.getRowsIngested());
+        assertEquals((ROWS + BATCH_SIZE - 1) / BATCH_SIZE, response.getBatchesCommitted());
+        assertEquals(descriptions, storedDescriptions(response.getImportBatchId()));
+        assertRollupMatchesTransactions();
+    }
+
+    @Test
+    void rollsBackTheBatchThatFailsAndKeepsEarlierBatches() {
+        // PostgreSQL rejects NUL in text, so COPY fails partway through the second batch
+        int badRow = BATCH_SIZE + BATCH_SIZE / 2;
+        MockMultipartFile file = csv(new ArrayList<>(), badRow);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> ingestService.ingestCsv(file, TEST_USER_ID));
+
+        assertTrue(failure.getMessage().contains(BATCH_SIZE + " rows in 1 batches were committed"),
+                failure.getMessage());
+        assertEquals(BATCH_SIZE, countRows());
+        assertRollupMatchesTransactions();
+    }
+
+    /**
+     * Descriptions carry quotes, commas and line breaks; each is added to
+     * {@code descriptions} as the parser will hand it over (trimmed).
+     */
+    private static MockMultipartFile csv(List<String> descriptions, int badRow) {
+        StringBuilder csv = new StringBuilder("Date,Description,Amount,Type,Category,Mode\n");
+        for (int i = 0; i < ROWS; i++) {
+            String description = switch (i % 4) {
+                case 0 -> "Paid to \"Store " + i + "\", Bengaluru";
+                case 1 -> "UPI/" + i + "\nrefund, partial";
+                case 2 -> "Rent, flat " + i;
+                default -> "Plain " + i;
+            };
+            if (i == badRow) {
+                description = "Bad \u0000 row " + i;
+            }
+            descriptions.add(description);
+            csv.append(1 + i % 28).append('/').append(1 + i % 12).append('/').append(YEAR)
+                    .append(",\"").append(description.replace("\"", "\"\"")).append("\",")
+                    .append(100 + i).append('.').append(i % 100).append(',')
+                    .append(i % 5 == 0 ? "credit" : "debit").append(',')
+                    .append(i % 3 == 0 ? "Food" : i % 3 == 1 ? "Rent" : "").append(",UPI\n");
+        }
+        return new MockMultipartFile("file", "bulk.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> storedDescriptions(String importBatchId) {
+        return inRollback(() -> (List<String>) entityManager.createNativeQuery(
+                        "SELECT description FROM transactions WHERE user_id = :userId "
+                                + "AND import_batch_id = :batch ORDER BY id")
+                .setParameter("userId", TEST_USER_ID)
+                .setParameter("batch", importBatchId)
+                .getResultList());
+    }
+
+    private long countRows() {
+        return inRollback(() -> ((Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM transactions WHERE user_id = :userId")
+                .setParameter("userId", TEST_USER_ID)
+                .getSingleResult()).longValue());
+    }
+
+    // The deltas written with each batch must add up to a rebuild from the rows themselves
+    private void assertRollupMatchesTransactions() {
+        List<String> incremental = inRollback(this::rollup);
+        List<String> rebuilt = inRollback(() -> {
+            rollupRepository.deleteAllForUser(TEST_USER_ID);
+            rollupRepository.insertFromTransactions(TEST_USER_ID);
+            return rollup();
+        });
+        assertEquals(rebuilt, incremental);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> rollup() {
+        return entityManager.createNativeQuery(ROLLUP_SQL)
+                .setParameter("userId", TEST_USER_ID)
+                .getResultList();
+    }
+}
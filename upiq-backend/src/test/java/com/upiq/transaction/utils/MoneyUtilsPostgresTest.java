@@ -0,0 +1,41 @@
+package com.upiq.transaction.utils;
+
+import com.upiq.support.EnabledIfPostgres;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the V8 conversion on a real server; plain JDBC, since it needs no schema.
+ */
+@EnabledIfPostgres
+class MoneyUtilsPostgresTest {
+
+    private static final String V8_SQL = "SELECT CAST(ROUND(CAST(CAST(? AS float8) AS numeric) * 100) AS bigint)";
+
+    @Test
+    void matchesTheV8ConversionOnTheServer() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getenv("UPIQ_TEST_DB_URL"),
+                System.getenv("UPIQ_TEST_DB_USERNAME"),
+                Objects.requireNonNullElse(System.getenv("UPIQ_TEST_DB_PASSWORD"), ""));
+             PreparedStatement statement = connection.prepareStatement(V8_SQL)) {
+            Random random = new Random(23);
+            for (int n = 0; n < 20_000; n++) {
+                double rupees = MoneyUtilsTest.sample(random, n);
+                statement.setDouble(1, rupees);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    assertEquals(rs.getLong(1), MoneyUtils.toPaise(rupees), Double.toString(rupees));
+                }
+            }
+        }
+    }
+}
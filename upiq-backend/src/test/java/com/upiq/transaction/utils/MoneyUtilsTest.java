@@ -0,0 +1,84 @@
+package com.upiq.transaction.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyUtilsTest {
+
+    @Test
+    void roundsHalfUpAwayFromZero() {
+        assertEquals(13L, MoneyUtils.toPaise(0.125));
+        assertEquals(-13L, MoneyUtils.toPaise(-0.125));
+        assertEquals(101L, MoneyUtils.toPaise(1.005));
+        assertEquals(30L, MoneyUtils.toPaise(0.1 + 0.2));
+    }
+
+    @Test
+    void roundsFloatNoiseBelowAHalfPaiseUpLikeV8() {
+        // Shortest form 26912.634999999995, but PostgreSQL's cast sees 26912.6350000000
+        assertEquals(26_91_264L, MoneyUtils.toPaise(Math.nextDown(26912.635)));
+        assertEquals(13L, MoneyUtils.toPaise(Math.nextDown(0.125)));
+    }
+
+    @Test
+    void rejectsMissingAndNonFiniteAmounts() {
+        assertThrows(IllegalArgumentException.class, () -> MoneyUtils.toPaise((Double) null));
+        assertThrows(IllegalArgumentException.class, () -> MoneyUtils.toPaise(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> MoneyUtils.toPaise(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void rejectsAmountsOutsideTheRangeInsteadOfOverflowing() {
+        assertEquals(100_000_000_000_000L, MoneyUtils.toPaise(1e12));
+        assertEquals(-100_000_000_000_000L, MoneyUtils.toPaise(-1e12));
+        assertThrows(IllegalArgumentException.class, () -> MoneyUtils.toPaise(1e12 + 0.01));
+        assertThrows(IllegalArgumentException.class, () -> MoneyUtils.toPaise(1e18));
+        assertThrows(IllegalArgumentException.class, () -> MoneyUtils.toPaise(-1e18));
+    }
+
+    @Test
+    void matchesTheV8ConversionOnFloat8Values() {
+        Random random = new Random(17);
+        for (int n = 0; n < 200_000; n++) {
+            double rupees = sample(random, n);
+            assertEquals(v8Paise(rupees), MoneyUtils.toPaise(rupees), () -> Double.toString(rupees));
+        }
+    }
+
+    /**
+     * {@code ROUND(CAST(amount AS numeric) * 100)} from V8, worked out independently of
+     * MoneyUtils: PostgreSQL prints the float8 with {@code %.15g}, then rounds the numeric
+     * half away from zero.
+     */
+    static long v8Paise(double rupees) {
+        BigDecimal numeric = new BigDecimal(String.format(Locale.ROOT, "%.14e", rupees));
+        return numeric.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /** Typed amounts, summed amounts, arbitrary doubles and values one ulp either side of a half paisa. */
+    static double sample(Random random, int n) {
+        double sign = random.nextInt(10) == 0 ? -1 : 1;
+        return sign * switch (n % 4) {
+            case 0 -> random.nextInt(100_000_000) / 1000.0;
+            case 1 -> {
+                double sum = 0;
+                for (int k = 1 + random.nextInt(20); k > 0; k--) {
+                    sum += random.nextInt(100_000) / 100.0;
+                }
+                yield sum;
+            }
+            case 2 -> random.nextDouble() * 1e7;
+            default -> {
+                double half = (random.nextInt(10_000_000) + 0.5) / 100.0;
+                yield random.nextBoolean() ? Math.nextDown(half) : Math.nextUp(half);
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.upiq.transaction.utils;
+
+import com.upiq.transaction.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums income and expense over a year of transactions (30 a day) in memory, the way
+ * the summaries did with boxed {@code Double} rupee amounts and the way they do now
+ * with {@code long} paise on the entity. Run the {@link #main} method from the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YearSumBenchmark {
+
+    private static final int PER_DAY = 30;
+
+    /** Shape of a row before the migration: amount as a boxed rupee value. */
+    private record RupeeRow(Double amount, String type) {
+    }
+
+    private List<RupeeRow> rupeeRows;
+    private List<Transaction> paiseRows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(19);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        rupeeRows = new ArrayList<>();
+        paiseRows = new ArrayList<>();
+        for (int day = 0; day < 365; day++) {
+            for (int i = 0; i < PER_DAY; i++) {
+                long paise = 100 + random.nextInt(5_000_00);
+                String type = random.nextInt(5) == 0 ? "income" : "expense";
+                rupeeRows.add(new RupeeRow(MoneyUtils.toRupees(paise), type));
+                paiseRows.add(Transaction.builder()
+                        .amountPaise(paise)
+                        .type(type)
+                        .date(start.plusDays(day))
+                        .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public double boxedRupees() {
+        Double income = 0.0;
+        Double expense = 0.0;
+        for (RupeeRow row : rupeeRows) {
+            if ("income".equals(row.type())) {
+                income += row.amount();
+            } else {
+                expense += row.amount();
+            }
+        }
+        return income - expense;
+    }
+
+    @Benchmark
+    public long primitivePaise() {
+        long income = 0;
+        long expense = 0;
+        for (Transaction row : paiseRows) {
+            if ("income".equals(row.getType())) {
+                income += row.getAmountPaise();
+            } else {
+                expense += row.getAmountPaise();
+            }
+        }
+        return income - expense;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(YearSumBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -132,9 +132,7 @@ const UploadPDF = () => {
                 return;
             }
 
-            let successCount = 0;
-            for (let i = 0; i < transactionsToSave.length; i++) {
-                const transaction = transactionsToSave[i];
+            const payload = transactionsToSave.map((transaction, i) => {
                 let isoDate;
 
                 if (transaction.date) {
@@ -145,24 +143,21 @@ const UploadPDF = () => {
                     console.warn(`Transaction ${i + 1} missing date, using fallback:`, isoDate);
                 }
 
-                console.log(`Saving transaction ${i + 1}/${totalToSave}:`, {
-                    desc: transaction.description,
-                    amount: transaction.amount,
-                    date: isoDate
-                });
+                return {
+                    ...transaction,
+                    date: isoDate,
+                    category: "Uncategorized",
+                    paymentMethod: transaction.paymentMethod || "UPI"
+                };
+            });
 
-                try {
-                    await TransactionService.create({
-                        ...transaction,
-                        date: isoDate,
-                        category: "Uncategorized",
-                        paymentMethod: transaction.paymentMethod || "UPI"
-                    });
-                    successCount++;
-                } catch (txErr) {
-                    console.error(`Failed to save transaction ${i + 1}:`, transaction, txErr);
-                }
-            }
+            const importResponse = await TransactionService.importAll(payload);
+            const result = importResponse.data;
+            const successCount = result.created;
+
+            result.results
+                .filter(row => row.status === "FAILED")
+                .forEach(row => console.error(`Failed to save transaction ${row.index + 1}:`, payload[row.index], row.error));
 
             const message = successCount === totalToSave
                 ? `Successfully saved all ${successCount} transactions!`
@@ -1,5 +1,8 @@
 import api from "./axios";
 
+// Must not exceed the server's app.transactions.import.max-rows
+const IMPORT_CHUNK_SIZE = 5000;
+
 const TransactionService = {
     getAll: async () => {
         const response = await api.get("/transactions");
@@ -11,6 +14,44 @@ const TransactionService = {
         return response.data;
     },
 
+    importAll: async (transactions) => {
+        // POST /api/transactions/import - one request (and DB transaction) per chunk of
+        // IMPORT_CHUNK_SIZE rows; results are merged with indexes into the full list
+        const merged = { importBatchIds: [], requested: 0, created: 0, failed: 0, results: [] };
+        for (let offset = 0; offset < transactions.length; offset += IMPORT_CHUNK_SIZE) {
+            const chunk = transactions.slice(offset, offset + IMPORT_CHUNK_SIZE);
+            const response = await api.post("/transactions/import", { transactions: chunk });
+            const result = response.data.data;
+            if (result.importBatchId) {
+                merged.importBatchIds.push(result.importBatchId);
+            }
+            merged.requested += result.requested;
+            merged.created += result.created;
+            merged.failed += result.failed;
+            result.results.forEach(row => merged.results.push({ ...row, index: row.index + offset }));
+        }
+        return { success: true, data: merged };
+    },
+
+    getChanges: async (since, limit) => {
+        // GET /api/transactions/changes?since= - rows changed and ids deleted after `since`.
+        // Rows carry categoryId only; reload categories when categoryVersion changes.
+        const response = await api.get("/transactions/changes", { params: { since, limit } });
+        return response.data;
+    },
+
+    getSummary: async (params) => {
+        // GET /api/transactions/summary?from=&to=&granularity=day|week|month
+        const response = await api.get("/transactions/summary", { params });
+        return response.data;
+    },
+
+    getBreakdown: async (params) => {
+        // GET /api/transactions/breakdown?from=&to=&type=
+        const response = await api.get("/transactions/breakdown", { params });
+        return response.data;
+    },
+
     getByCategory: async (category) => {
         const response = await api.get(`/transactions/category/${category}`);
         return response.data;